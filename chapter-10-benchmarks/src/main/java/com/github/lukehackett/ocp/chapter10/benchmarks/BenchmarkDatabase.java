@@ -0,0 +1,31 @@
+package com.github.lukehackett.ocp.chapter10.benchmarks;
+
+import com.github.lukehackett.ocp.chapter10.JDBCBase;
+import com.github.lukehackett.ocp.chapter10.ZooData;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// The in-memory database is shared by the whole JVM, so every trial starts by dropping everything
+public class BenchmarkDatabase extends JDBCBase {
+
+    public void reset() throws IOException, SQLException {
+        update("DROP ALL OBJECTS");
+        executeSqlScript("zoo-schema.sql");
+    }
+
+    public void loadAnimals(int rows) throws SQLException {
+        ZooData.speciesLoader(this).load(ZooData.SPECIES.stream());
+        ZooData.animalLoader(this).load(animals(rows));
+    }
+
+    public static Stream<Animal> animals(int rows) {
+        return IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id)));
+    }
+
+}
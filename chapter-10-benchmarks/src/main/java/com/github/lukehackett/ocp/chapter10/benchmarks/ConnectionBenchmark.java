@@ -0,0 +1,49 @@
+package com.github.lukehackett.ocp.chapter10.benchmarks;
+
+import com.github.lukehackett.ocp.chapter10.JDBCBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionBenchmark {
+    private BenchmarkDatabase database;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = new BenchmarkDatabase();
+        database.reset();
+    }
+
+    @Benchmark
+    public boolean pooledConnection() throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    public boolean driverManagerConnection() throws SQLException {
+        try (Connection connection = JDBCBase.openConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+}
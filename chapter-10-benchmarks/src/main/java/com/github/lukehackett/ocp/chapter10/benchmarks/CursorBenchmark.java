@@ -0,0 +1,94 @@
+package com.github.lukehackett.ocp.chapter10.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// Compares the access patterns of ScrollingResultSetDemo and PositioningResultSetDemo with a plain forward-only read
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CursorBenchmark {
+    private static final String SELECT_ANIMALS = "SELECT * FROM animals ORDER BY id";
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = new BenchmarkDatabase();
+        database.reset();
+        database.loadAnimals(rows);
+    }
+
+    @Benchmark
+    public void forwardOnly(Blackhole blackhole) throws SQLException {
+        try (
+                Connection connection = database.getConnection();
+                Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ResultSet rs = statement.executeQuery(SELECT_ANIMALS)
+        ) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString("name"));
+            }
+        }
+    }
+
+    // Reads every row forwards and then backwards, as ScrollingResultSetDemo does
+    @Benchmark
+    public void scrollable(Blackhole blackhole) throws SQLException {
+        try (
+                Connection connection = database.getConnection();
+                Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+                ResultSet rs = statement.executeQuery(SELECT_ANIMALS)
+        ) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString("name"));
+            }
+            while (rs.previous()) {
+                blackhole.consume(rs.getString("name"));
+            }
+        }
+    }
+
+    // Jumps around the result set with absolute and relative moves, as PositioningResultSetDemo does
+    @Benchmark
+    public void positioned(Blackhole blackhole) throws SQLException {
+        try (
+                Connection connection = database.getConnection();
+                Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+                ResultSet rs = statement.executeQuery(SELECT_ANIMALS)
+        ) {
+            rs.absolute(rows / 2);
+            blackhole.consume(rs.getTimestamp("date_born"));
+            rs.relative(1);
+            blackhole.consume(rs.getTimestamp("date_born"));
+            rs.absolute(-1);
+            blackhole.consume(rs.getTimestamp("date_born"));
+            rs.absolute(1);
+            blackhole.consume(rs.getTimestamp("date_born"));
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.github.lukehackett.ocp.chapter10.benchmarks;
+
+import com.github.lukehackett.ocp.chapter10.JDBCBase;
+import com.github.lukehackett.ocp.chapter10.ZooData;
+import com.github.lukehackett.ocp.chapter10.batch.BatchInsertLoader;
+import com.github.lukehackett.ocp.chapter10.batch.LoadResult;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private List<Animal> animals;
+
+    // Every variant inserts through a plain driver connection, so the pool, statement cache and
+    // per-statement metrics cannot favour one over another; only the insert strategy differs
+    private BatchInsertLoader<Animal> loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        database = new BenchmarkDatabase();
+        database.reset();
+        animals = BenchmarkDatabase.animals(rows).collect(Collectors.toList());
+        loader = new BatchInsertLoader<>(JDBCBase::openConnection, ZooData.INSERT_ANIMAL, ZooData.ANIMAL_BINDER);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        database.update("TRUNCATE TABLE animals");
+    }
+
+    // How insertInitialData originally loaded rows: literal SQL, parsed and auto-committed once per row
+    @Benchmark
+    public int perRowLiteral() throws SQLException {
+        int inserted = 0;
+        try (Connection connection = JDBCBase.openConnection(); Statement statement = connection.createStatement()) {
+            for (Animal animal : animals) {
+                inserted += statement.executeUpdate("INSERT INTO animals VALUES (" + animal.getId() + ", " + animal.getSpeciesId() + ", '"
+                        + animal.getName().replace("'", "''") + "', '" + Timestamp.valueOf(animal.getDateBorn()) + "')");
+            }
+        }
+        return inserted;
+    }
+
+    // Still one auto-committed insert per row, but through a reused prepared statement, so only the batching differs from batched()
+    @Benchmark
+    public int perRowPrepared() throws SQLException {
+        int inserted = 0;
+        try (Connection connection = JDBCBase.openConnection(); PreparedStatement statement = connection.prepareStatement(ZooData.INSERT_ANIMAL)) {
+            for (Animal animal : animals) {
+                ZooData.ANIMAL_BINDER.bind(statement, animal);
+                inserted += statement.executeUpdate();
+            }
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public LoadResult batched() throws SQLException {
+        return loader.load(animals.stream());
+    }
+
+}
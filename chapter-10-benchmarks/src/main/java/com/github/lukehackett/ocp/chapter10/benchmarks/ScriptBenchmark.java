@@ -0,0 +1,74 @@
+package com.github.lukehackett.ocp.chapter10.benchmarks;
+
+import com.github.lukehackett.ocp.chapter10.script.ScriptResult;
+import com.github.lukehackett.ocp.chapter10.script.SqlScriptRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptBenchmark {
+    private BenchmarkDatabase database;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new BenchmarkDatabase();
+    }
+
+    // Each invocation needs an empty database, so the schema script is part of every measurement
+    @Setup(Level.Invocation)
+    public void dropAll() throws SQLException {
+        database.update("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public ScriptResult schemaScript() throws IOException, SQLException {
+        return database.executeSqlScript("zoo-schema.sql");
+    }
+
+    @Benchmark
+    public ScriptResult insertScript(InsertScript insert) throws IOException, SQLException {
+        database.executeSqlScript("zoo-schema.sql");
+        return new SqlScriptRunner(database::getConnection).run(new StringReader(insert.script));
+    }
+
+    @State(Scope.Benchmark)
+    public static class InsertScript {
+
+        @Param({"100", "10000", "100000"})
+        public int rows;
+
+        String script;
+
+        @Setup(Level.Trial)
+        public void createScript() {
+            StringBuilder sql = new StringBuilder();
+            for (int id = 1; id <= rows; id++) {
+                sql.append("INSERT INTO animals VALUES (").append(id).append(", ").append((id % 2) + 1)
+                        .append(", 'Animal ").append(id).append("', '2001-05-06 02:15:00');\n");
+            }
+            script = sql.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.async.AsyncJdbc;
+import com.github.lukehackett.ocp.chapter10.query.Row;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncQueryDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException, InterruptedException {
+        AsyncQueryDemo demo = new AsyncQueryDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.insertInitialData(demo);
+        demo.run();
+    }
+
+    public void run() throws InterruptedException {
+        try (AsyncJdbc jdbc = async(4, 16)) {
+            CompletableFuture<List<Row>> species = jdbc.query("SELECT * FROM species");
+            CompletableFuture<List<Row>> animals = jdbc.query("SELECT * FROM animals WHERE species_id = ?", 1);
+
+            // The calling thread is free until it needs both results
+            species.thenCombine(animals, (s, a) -> s.size() + " species and " + a.size() + " elephants")
+                    .thenAccept(System.out::println)
+                    .join();
+
+            // Cancelling a future cancels the statement that is running on the database
+            CompletableFuture<List<Row>> slow = jdbc.query("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000000)");
+            Thread.sleep(100);
+            slow.cancel(true);
+
+            try {
+                slow.join();
+            } catch (CancellationException e) {
+                System.out.println("Slow query was cancelled");
+            }
+        }
+    }
+
+}
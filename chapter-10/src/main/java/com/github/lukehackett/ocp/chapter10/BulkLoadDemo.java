@@ -0,0 +1,41 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.batch.BatchInsertLoader;
+import com.github.lukehackett.ocp.chapter10.batch.LoadResult;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class BulkLoadDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        BulkLoadDemo demo = new BulkLoadDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.speciesLoader(demo).load(ZooData.SPECIES.stream());
+        demo.run(rows, batchSize);
+    }
+
+    public void run(int rows, int batchSize) throws SQLException {
+        BatchInsertLoader<Animal> loader = ZooData.animalLoader(this);
+        loader.setBatchSize(batchSize);
+        loader.setBatchesPerCommit(10);
+
+        LoadResult result = loader.load(generateAnimals(rows));
+        System.out.println(result);
+    }
+
+    // Rows are generated lazily, so the whole data set is never held in memory
+    private static Stream<Animal> generateAnimals(int rows) {
+        LocalDateTime epoch = LocalDateTime.of(2000, 1, 1, 0, 0);
+        return IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, epoch.plusHours(id)));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.bulk.BulkFormat;
+import com.github.lukehackett.ocp.chapter10.bulk.TableExporter;
+import com.github.lukehackett.ocp.chapter10.bulk.TableImporter;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+// Usage: BulkTransferCommand (import|export) <table> <file> [csv|columnar]
+// With no arguments, round trips a generated animals table through both formats.
+public class BulkTransferCommand extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        BulkTransferCommand command = new BulkTransferCommand();
+        command.executeSqlScript("zoo-schema.sql");
+
+        if (args.length == 0) {
+            command.roundTrip(250_000);
+            return;
+        }
+
+        if (args.length < 3) {
+            System.err.println("Usage: BulkTransferCommand (import|export) <table> <file> [csv|columnar]");
+            System.exit(1);
+        }
+
+        Path file = Paths.get(args[2]);
+        BulkFormat format = args.length > 3 ? BulkFormat.valueOf(args[3].toUpperCase(Locale.ROOT)) : BulkFormat.CSV;
+
+        if ("export".equalsIgnoreCase(args[0])) {
+            System.out.println(new TableExporter(command).export(args[1], file, format));
+        } else {
+            System.out.println(new TableImporter(command).importFile(args[1], file, format));
+        }
+    }
+
+    public void roundTrip(int rows) throws IOException, SQLException {
+        ZooData.animalLoader(this).load(IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id))));
+
+        for (BulkFormat format : BulkFormat.values()) {
+            Path file = Files.createTempFile("animals", "." + format.name().toLowerCase(Locale.ROOT));
+            try {
+                System.out.println(format + ": " + new TableExporter(this).export("animals", file, format));
+
+                update("DELETE FROM animals");
+                System.out.println(format + ": " + new TableImporter(this).importFile("animals", file, format));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.advisor.AdvisorReport;
+import com.github.lukehackett.ocp.chapter10.advisor.IndexAdvisor;
+import com.github.lukehackett.ocp.chapter10.advisor.QueryRecorder;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+import com.github.lukehackett.ocp.chapter10.query.Row;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class IndexAdvisorDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        IndexAdvisorDemo demo = new IndexAdvisorDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.speciesLoader(demo).load(ZooData.SPECIES.stream());
+        ZooData.animalLoader(demo).load(IntStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id))));
+        demo.run();
+    }
+
+    public void run() throws SQLException {
+        QueryRecorder recorder = new QueryRecorder();
+        addQueryListener(recorder);
+
+        try {
+            query("SELECT * FROM animals WHERE id = ?", 42);
+            query("SELECT * FROM animals WHERE species_id = ?", 2);
+            query("SELECT a.name, s.name FROM animals a JOIN species s ON a.species_id = s.id WHERE a.id = ?", 7);
+            try (Stream<Row> rows = stream("SELECT * FROM animals ORDER BY id")) {
+                System.out.println("Streamed " + rows.count() + " animals");
+            }
+        } finally {
+            removeQueryListener(recorder);
+        }
+
+        // Passing true applies the recommendations, and reports the plans before and after
+        AdvisorReport report = new IndexAdvisor(this).analyse(recorder, true);
+        System.out.println(report);
+    }
+
+}
@@ -1,49 +1,170 @@
 package com.github.lukehackett.ocp.chapter10;
 
+import com.github.lukehackett.ocp.chapter10.async.AsyncJdbc;
+import com.github.lukehackett.ocp.chapter10.batch.BatchInsertLoader;
+import com.github.lukehackett.ocp.chapter10.batch.RowBinder;
+import com.github.lukehackett.ocp.chapter10.cache.QueryKey;
+import com.github.lukehackett.ocp.chapter10.cache.QueryResultCache;
+import com.github.lukehackett.ocp.chapter10.cache.SpeciesLookupCache;
+import com.github.lukehackett.ocp.chapter10.cache.SqlTables;
+import com.github.lukehackett.ocp.chapter10.ingest.WriteBehindBuffer;
+import com.github.lukehackett.ocp.chapter10.mapping.ResultSets;
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapperFactory;
+import com.github.lukehackett.ocp.chapter10.metrics.InstrumentedConnection;
+import com.github.lukehackett.ocp.chapter10.metrics.SqlMetrics;
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionPool;
+import com.github.lukehackett.ocp.chapter10.pool.PoolConfig;
+import com.github.lukehackett.ocp.chapter10.query.QueryListener;
+import com.github.lukehackett.ocp.chapter10.query.Row;
+import com.github.lukehackett.ocp.chapter10.query.StreamingQuery;
+import com.github.lukehackett.ocp.chapter10.script.ScriptResult;
+import com.github.lukehackett.ocp.chapter10.script.SqlScriptRunner;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public abstract class JDBCBase {
     private static final String USERNAME = "sa";
     private static final String PASSWORD = "sa";
     private static final String URL = "jdbc:h2:mem:chapter-10;MODE=MYSQL;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1";
 
+    // Shared by every demo, so connections are only opened once per JVM rather than once per call
+    private static final ConnectionPool POOL = new ConnectionPool(JDBCBase::openConnection, new PoolConfig());
+    private static final QueryResultCache QUERY_CACHE = new QueryResultCache(1_000, 5, TimeUnit.MINUTES);
+    private static final List<QueryListener> QUERY_LISTENERS = new CopyOnWriteArrayList<>();
+    private static final SqlMetrics SQL_METRICS = new SqlMetrics();
+    private static final SpeciesLookupCache SPECIES_CACHE = new SpeciesLookupCache(() -> InstrumentedConnection.wrap(POOL.borrow(), SQL_METRICS));
+
     public Connection getConnection() throws SQLException {
+        return InstrumentedConnection.wrap(POOL.borrow(), SQL_METRICS);
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return POOL;
+    }
+
+    public QueryResultCache getQueryCache() {
+        return QUERY_CACHE;
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return SQL_METRICS;
+    }
+
+    public SpeciesLookupCache getSpeciesCache() {
+        return SPECIES_CACHE;
+    }
+
+    public void addQueryListener(QueryListener listener) {
+        QUERY_LISTENERS.add(listener);
+    }
+
+    public void removeQueryListener(QueryListener listener) {
+        QUERY_LISTENERS.remove(listener);
+    }
+
+    public static Connection openConnection() throws SQLException {
         return DriverManager.getConnection(URL, USERNAME, PASSWORD);
     }
 
-    public void executeSqlScript(String path) throws SQLException, IOException {
-        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
-            String sql = readFile(getClasspathResource(path));
-            statement.execute(sql);
+    // Reads through the query cache, which is invalidated by any write made through this class
+    public List<Row> query(String sql, Object... parameters) throws SQLException {
+        fireExecuted(sql, parameters);
+        return QUERY_CACHE.get(new QueryKey(sql, parameters), () -> {
+            try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+                bind(statement, parameters);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return ResultSets.list(rs, Row.MAPPER);
+                }
+            }
+        });
+    }
+
+    public int update(String sql, Object... parameters) throws SQLException {
+        fireExecuted(sql, parameters);
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            return statement.executeUpdate();
+        } finally {
+            written(sql);
         }
     }
 
-    private String readFile(Path path) throws IOException {
-        byte[] encoded = Files.readAllBytes(path);
-        return new String(encoded, Charset.defaultCharset());
+    public <T> BatchInsertLoader<T> batchLoader(String sql, RowBinder<T> binder) {
+        BatchInsertLoader<T> loader = new BatchInsertLoader<>(this::getConnection, sql, binder);
+        loader.setCommitListener(() -> written(sql));
+        return loader;
     }
 
-    private static Path getClasspathResource(String path) {
-        try {
-            URL url = Thread.currentThread().getContextClassLoader().getResource(path);
-            if (url != null) {
-                return Paths.get(url.toURI());
-            }
-        } catch (URISyntaxException e) {
-            e.printStackTrace();
+    public <T> WriteBehindBuffer<T> writeBehind(String sql, RowBinder<T> binder, int capacity) {
+        return new WriteBehindBuffer<>(batchLoader(sql, binder), capacity);
+    }
+
+    // Writes made through the returned facade invalidate the same caches as update()
+    public AsyncJdbc async(int threads, int queueCapacity) {
+        AsyncJdbc async = new AsyncJdbc(this::getConnection, threads, queueCapacity);
+        async.setUpdateListener(JDBCBase::written);
+        return async;
+    }
+
+    public Stream<Row> stream(String sql, Object... parameters) throws SQLException {
+        fireExecuted(sql, parameters);
+        return new StreamingQuery(this::getConnection).stream(sql, parameters);
+    }
+
+    public <T> Stream<T> stream(RowMapperFactory<T> mapper, String sql, Object... parameters) throws SQLException {
+        fireExecuted(sql, parameters);
+        return new StreamingQuery(this::getConnection).stream(mapper, sql, parameters);
+    }
+
+    public ScriptResult executeSqlScript(String path) throws SQLException, IOException {
+        try (Reader reader = openClasspathResource(path)) {
+            return new SqlScriptRunner(this::getConnection).run(reader);
+        } finally {
+            QUERY_CACHE.invalidateAll();
+            SPECIES_CACHE.invalidate();
+        }
+    }
+
+    // Keeps the caches in step with a write made through this class
+    private static void written(String sql) {
+        QUERY_CACHE.invalidate(SqlTables.modifiedTables(sql));
+        SPECIES_CACHE.written(sql);
+    }
+
+    private static void fireExecuted(String sql, Object[] parameters) {
+        for (QueryListener listener : QUERY_LISTENERS) {
+            listener.executed(sql, parameters);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static Reader openClasspathResource(String path) throws FileNotFoundException {
+        InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
+        if (stream == null) {
+            throw new FileNotFoundException("Classpath resource not found: " + path);
         }
 
-        return null;
+        return new BufferedReader(new InputStreamReader(stream, Charset.defaultCharset()));
     }
 
 }
@@ -0,0 +1,49 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+import com.github.lukehackett.ocp.chapter10.query.KeysetPaginator;
+import com.github.lukehackett.ocp.chapter10.query.Page;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+public class KeysetPagingDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        KeysetPagingDemo demo = new KeysetPagingDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.speciesLoader(demo).load(ZooData.SPECIES.stream());
+        ZooData.animalLoader(demo).load(IntStream.rangeClosed(1, 100)
+                .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusDays(id))));
+        demo.run();
+    }
+
+    public void run() throws SQLException {
+        KeysetPaginator paginator = new KeysetPaginator(this::getConnection, "animals", "id", 5, 4);
+
+        // Each page seeks past the last key of the previous page, rather than scrolling a cursor
+        Page page = paginator.first();
+        System.out.println(page);
+
+        page = paginator.next(page);
+        System.out.println(page);
+
+        page = paginator.previous(page);
+        System.out.println(page);
+
+        // Jumping to a page starts from the nearest indexed key, so only a few keys are ever skipped
+        page = paginator.page(15);
+        System.out.println(page);
+        System.out.println(paginator.next(page));
+
+        System.out.println(paginator.page(20));
+        System.out.println(paginator.page(21));
+
+        // The end of the table is now known, so pages past it are empty without another key scan
+        System.out.println(paginator.page(40));
+        System.out.println(paginator.page(40));
+    }
+
+}
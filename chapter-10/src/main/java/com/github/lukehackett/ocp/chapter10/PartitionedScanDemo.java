@@ -0,0 +1,49 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.mapping.AnimalMapper;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+import com.github.lukehackett.ocp.chapter10.scan.PartitionedTableScan;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class PartitionedScanDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+        PartitionedScanDemo demo = new PartitionedScanDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.animalLoader(demo).load(IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> new Animal(id, (id % 5) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id))));
+        demo.run();
+    }
+
+    public void run() throws SQLException {
+        long start = System.nanoTime();
+        try (Stream<Animal> animals = stream(AnimalMapper.INSTANCE, "SELECT * FROM animals")) {
+            System.out.println("Sequential: " + countBySpecies(animals));
+        }
+        System.out.printf("Sequential scan took %,dms%n", (System.nanoTime() - start) / 1_000_000);
+
+        PartitionedTableScan<Animal> scan = new PartitionedTableScan<>(this::getConnection, "animals", "id", AnimalMapper.INSTANCE);
+        scan.setMinPartitionSize(25_000);
+        scan.setMaxPartitions(getConnectionPool().getMaxSize());
+
+        start = System.nanoTime();
+        try (Stream<Animal> animals = scan.stream()) {
+            System.out.println("Partitioned: " + countBySpecies(animals));
+        }
+        System.out.printf("Partitioned scan took %,dms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Map<Integer, Long> countBySpecies(Stream<Animal> animals) {
+        return animals.collect(Collectors.groupingByConcurrent(Animal::getSpeciesId, Collectors.counting()));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PooledConnectionDemo extends JDBCBase {
+
+    public static void main(String[] args) throws Exception {
+        PooledConnectionDemo demo = new PooledConnectionDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        demo.run();
+    }
+
+    public void run() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(32);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                results.add(service.submit(this::countSpecies));
+            }
+
+            // Print the pool gauges whilst the requests are competing for connections
+            System.out.println(getConnectionPool());
+
+            for (Future<Integer> result : results) {
+                result.get();
+            }
+
+        } finally {
+            service.shutdown();
+        }
+
+        System.out.println(getConnectionPool());
+    }
+
+    private int countSpecies() throws SQLException {
+        try (
+                Connection connection = getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM species")
+        ) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+public class QueryCacheDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        QueryCacheDemo demo = new QueryCacheDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.insertInitialData(demo);
+        demo.run();
+    }
+
+    public void run() throws SQLException {
+        // The first read goes to the database, the second is served from the cache
+        System.out.println(query("SELECT * FROM species"));
+        System.out.println(query("SELECT * FROM species"));
+
+        // Bound parameters are part of the cache key
+        System.out.println(query("SELECT * FROM animals WHERE species_id = ?", 1));
+        System.out.println(query("SELECT * FROM animals WHERE species_id = ?", 2));
+        System.out.println(getQueryCache());
+
+        // Writing to species only evicts the queries that read from species
+        update("INSERT INTO species VALUES (?, ?, ?)", 3, "Giraffe", 4.0);
+        System.out.println(query("SELECT * FROM species"));
+        System.out.println(query("SELECT * FROM animals WHERE species_id = ?", 1));
+        System.out.println(getQueryCache());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.mapping.AnimalColumns;
+import com.github.lukehackett.ocp.chapter10.mapping.AnimalMapper;
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapper;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+// Compares reading animals by column label against mappers that resolve the column
+// indexes once per result set. Run with an argument to change the number of rows.
+public class RowMappingBenchmark extends JDBCBase {
+    private static final String SQL = "SELECT * FROM animals";
+    private static final int ROUNDS = 10;
+
+    private long blackhole;
+
+    public static void main(String[] args) throws IOException, SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        RowMappingBenchmark benchmark = new RowMappingBenchmark();
+        benchmark.executeSqlScript("zoo-schema.sql");
+        ZooData.animalLoader(benchmark).load(IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id))));
+
+        benchmark.run(rows);
+    }
+
+    public void run(int rows) throws SQLException {
+        // The first rounds only warm up the JIT, so just the final round is reported
+        for (int round = 1; round <= ROUNDS; round++) {
+            long byName = time(this::readByName);
+            long indexed = time(this::readIndexed);
+            long columnar = time(this::readColumnar);
+
+            if (round == ROUNDS) {
+                System.out.printf("By name:  %,8.1f ns/row%n", byName / (double) rows);
+                System.out.printf("Indexed:  %,8.1f ns/row%n", indexed / (double) rows);
+                System.out.printf("Columnar: %,8.1f ns/row%n", columnar / (double) rows);
+            }
+        }
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    private void readByName(ResultSet rs) throws SQLException {
+        while (rs.next()) {
+            Animal animal = new Animal(rs.getInt("id"), rs.getInt("species_id"), rs.getString("name"),
+                    rs.getTimestamp("date_born").toLocalDateTime());
+            blackhole += animal.getId();
+        }
+    }
+
+    private void readIndexed(ResultSet rs) throws SQLException {
+        RowMapper<Animal> mapper = AnimalMapper.INSTANCE.create(rs.getMetaData());
+        while (rs.next()) {
+            blackhole += mapper.map(rs).getId();
+        }
+    }
+
+    private void readColumnar(ResultSet rs) throws SQLException {
+        AnimalColumns columns = AnimalColumns.read(rs);
+        for (int i = 0; i < columns.size(); i++) {
+            blackhole += columns.getId(i);
+        }
+    }
+
+    // Reads through a plain driver connection, as the proxies around pooled and instrumented
+    // connections add a reflective call to every getX that would drown out the label lookups
+    private long time(ResultSetConsumer consumer) throws SQLException {
+        try (Connection connection = openConnection(); PreparedStatement statement = connection.prepareStatement(SQL)) {
+            long start = System.nanoTime();
+            try (ResultSet rs = statement.executeQuery()) {
+                consumer.accept(rs);
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultSetConsumer {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+}
@@ -16,16 +16,7 @@ public class ScrollingResultSetDemo extends JDBCBase {
     }
 
     public void insertInitialData() throws SQLException {
-        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
-            statement.executeUpdate("INSERT INTO species VALUES (1, 'African Elephant', 7.5)");
-            statement.executeUpdate("INSERT INTO species VALUES (2, 'Zebra', 1.2)");
-
-            statement.executeUpdate("INSERT INTO animals VALUES (1, 1, 'Elsa', '2001-05-06 02:15:00')");
-            statement.executeUpdate("INSERT INTO animals VALUES (2, 2, 'Zelda', '2002-08-15 09:12:00.000')");
-            statement.executeUpdate("INSERT INTO animals VALUES (3, 1, 'Ester', '2002-09-09 10:36:00.000')");
-            statement.executeUpdate("INSERT INTO animals VALUES (4, 1, 'Eddie', '2010-06-08 01:24:00.000')");
-            statement.executeUpdate("INSERT INTO animals VALUES (5, 2, 'Zoe', '2005-11-12 03:44:00.000')");
-        }
+        ZooData.insertInitialData(this);
     }
 
     public void run() {
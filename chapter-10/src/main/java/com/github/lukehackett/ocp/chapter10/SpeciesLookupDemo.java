@@ -0,0 +1,53 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.cache.SpeciesLookupCache;
+import com.github.lukehackett.ocp.chapter10.mapping.AnimalMapper;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+import com.github.lukehackett.ocp.chapter10.model.Species;
+import com.github.lukehackett.ocp.chapter10.query.Row;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class SpeciesLookupDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        SpeciesLookupDemo demo = new SpeciesLookupDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.speciesLoader(demo).load(IntStream.rangeClosed(1, 50)
+                .mapToObj(id -> new Species(id, "Species " + id, id * 0.5)));
+        ZooData.animalLoader(demo).load(IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> new Animal(id, (id % 50) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id))));
+
+        demo.run();
+    }
+
+    public void run() throws SQLException {
+        long start = System.nanoTime();
+        double joined;
+        try (Stream<Row> rows = stream("SELECT a.id, a.species_id, s.name, s.num_acres FROM animals a JOIN species s ON s.id = a.species_id")) {
+            joined = rows.mapToDouble(row -> row.getDouble("num_acres")).sum();
+        }
+        System.out.printf("Join: total acres %,.1f in %,dms%n", joined, (System.nanoTime() - start) / 1_000_000);
+
+        SpeciesLookupCache species = getSpeciesCache();
+        start = System.nanoTime();
+        double hydrated;
+        try (Stream<Animal> animals = stream(AnimalMapper.withSpecies(species), "SELECT * FROM animals")) {
+            hydrated = animals.mapToDouble(animal -> animal.getSpecies().getNumAcres()).sum();
+        }
+        System.out.printf("Lookup: total acres %,.1f in %,dms (%d species cached)%n", hydrated, (System.nanoTime() - start) / 1_000_000, species.size());
+
+        // An insert through JDBCBase only needs the new rows read, whereas any other write reloads the table
+        update(ZooData.INSERT_SPECIES, 51, "Species 51", 25.5);
+        System.out.println("Stale after insert: " + species.isStale());
+        species.refreshIfStale();
+        System.out.println("Species 51: " + species.get(51));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.metrics.MetricsReporter;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+public class SqlMetricsDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException, InterruptedException {
+        SqlMetricsDemo demo = new SqlMetricsDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        demo.run();
+    }
+
+    public void run() throws SQLException, InterruptedException {
+        try (MetricsReporter reporter = new MetricsReporter(getSqlMetrics(), 1, TimeUnit.SECONDS, System.out::println)) {
+            ZooData.speciesLoader(this).load(ZooData.SPECIES.stream());
+            ZooData.animalLoader(this).load(IntStream.rangeClosed(1, 50_000)
+                    .mapToObj(id -> new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id))));
+
+            // Each of these lookups shares one fingerprint, as only the bound value changes
+            for (int i = 1; i <= 500; i++) {
+                update("UPDATE animals SET name = ? WHERE id = ?", "Renamed " + i, i);
+                query("SELECT * FROM animals WHERE species_id = " + ((i % 2) + 1) + " AND id < 100");
+            }
+
+            Thread.sleep(1_500);
+
+            // Covers whatever ran after the last periodic snapshot
+            reporter.report();
+        }
+    }
+
+}
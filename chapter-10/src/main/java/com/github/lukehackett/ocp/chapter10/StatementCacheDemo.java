@@ -0,0 +1,52 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class StatementCacheDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        StatementCacheDemo demo = new StatementCacheDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        demo.insertInitialData();
+        demo.run();
+    }
+
+    public void insertInitialData() throws SQLException {
+        ZooData.insertInitialData(this);
+    }
+
+    public void run() throws SQLException {
+        long start = System.nanoTime();
+        int found = 0;
+
+        // Only the first lookup on each pooled connection parses the SQL, the rest reuse the cached statement
+        for (int i = 0; i < 10_000; i++) {
+            found += countAnimalsBySpecies((i % 2) + 1);
+        }
+
+        System.out.printf("Found %,d animals in %,dms%n", found, (System.nanoTime() - start) / 1_000_000);
+        System.out.println(getConnectionPool());
+    }
+
+    private int countAnimalsBySpecies(int speciesId) throws SQLException {
+        try (
+                Connection connection = getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT * FROM animals WHERE species_id = ?")
+        ) {
+            statement.setInt(1, speciesId);
+
+            int count = 0;
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+}
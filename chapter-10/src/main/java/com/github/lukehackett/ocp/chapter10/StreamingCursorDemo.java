@@ -0,0 +1,34 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.query.Row;
+import com.github.lukehackett.ocp.chapter10.query.StreamingQuery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+public class StreamingCursorDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        StreamingCursorDemo demo = new StreamingCursorDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+        ZooData.insertInitialData(demo);
+        demo.run();
+    }
+
+    public void run() throws SQLException {
+        // A forward-only, read-only cursor only ever holds the current row on the client
+        try (Stream<Row> animals = stream("SELECT * FROM animals WHERE species_id = ? ORDER BY id", 1)) {
+            animals.forEach(row -> System.out.println(row.getString("name") + " was born on " + row.getTimestamp("date_born")));
+        }
+
+        // The fetch size can be tuned for larger tables
+        StreamingQuery query = new StreamingQuery(this::getConnection);
+        query.setFetchSize(100);
+
+        try (Stream<Row> animals = query.stream("SELECT * FROM animals")) {
+            System.out.println("Total animals: " + animals.count());
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.batch.LoadResult;
+import com.github.lukehackett.ocp.chapter10.ingest.FlushListener;
+import com.github.lukehackett.ocp.chapter10.ingest.WriteBehindBuffer;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WriteBehindDemo extends JDBCBase {
+
+    public static void main(String[] args) throws IOException, SQLException, InterruptedException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        WriteBehindDemo demo = new WriteBehindDemo();
+        demo.executeSqlScript("zoo-schema.sql");
+
+        demo.insertSynchronously(rows);
+        demo.update("DELETE FROM animals");
+        demo.insertWriteBehind(rows);
+    }
+
+    public void insertSynchronously(int rows) throws SQLException {
+        long start = System.nanoTime();
+        for (int id = 1; id <= rows; id++) {
+            Animal animal = animal(id);
+            update(ZooData.INSERT_ANIMAL, animal.getId(), animal.getSpeciesId(), animal.getName(), Timestamp.valueOf(animal.getDateBorn()));
+        }
+        print("Synchronous", rows, System.nanoTime() - start);
+    }
+
+    public void insertWriteBehind(int rows) throws SQLException, InterruptedException {
+        AtomicLong batches = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (WriteBehindBuffer<Animal> buffer = writeBehind(ZooData.INSERT_ANIMAL, ZooData.ANIMAL_BINDER, 10_000)) {
+            buffer.setMaxBatchSize(1_000);
+            buffer.setMaxDelay(50, TimeUnit.MILLISECONDS);
+            buffer.registerShutdownHook();
+            buffer.setFlushListener(new FlushListener<Animal>() {
+                @Override
+                public void onFlushed(List<Animal> flushed, LoadResult result) {
+                    batches.incrementAndGet();
+                }
+
+                @Override
+                public void onFailed(List<Animal> failed, Exception cause) {
+                    System.err.println("Failed to write " + failed.size() + " animals");
+                    cause.printStackTrace();
+                }
+            });
+
+            for (int id = 1; id <= rows; id++) {
+                buffer.put(animal(id));
+            }
+            print("Accepted", rows, System.nanoTime() - start);
+
+            buffer.flush();
+            print("Write-behind", rows, System.nanoTime() - start);
+        }
+
+        System.out.printf("Committed %,d transactions, table now holds %,d animals%n",
+                batches.get(), query("SELECT COUNT(*) FROM animals").get(0).getLong(1));
+    }
+
+    private static Animal animal(int id) {
+        return new Animal(id, (id % 2) + 1, "Animal " + id, LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(id));
+    }
+
+    private static void print(String label, int rows, long elapsedNanos) {
+        System.out.printf("%s: %,d rows in %,dms (%,.0f rows/sec)%n",
+                label, rows, elapsedNanos / 1_000_000, rows / (elapsedNanos / 1_000_000_000.0));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.lukehackett.ocp.chapter10;
+
+import com.github.lukehackett.ocp.chapter10.batch.BatchInsertLoader;
+import com.github.lukehackett.ocp.chapter10.batch.RowBinder;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+import com.github.lukehackett.ocp.chapter10.model.Species;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public final class ZooData {
+    public static final String INSERT_SPECIES = "INSERT INTO species (id, name, num_acres) VALUES (?, ?, ?)";
+    public static final String INSERT_ANIMAL = "INSERT INTO animals (id, species_id, name, date_born) VALUES (?, ?, ?, ?)";
+
+    public static final RowBinder<Species> SPECIES_BINDER = (statement, species) -> {
+        statement.setInt(1, species.getId());
+        statement.setString(2, species.getName());
+        statement.setDouble(3, species.getNumAcres());
+    };
+
+    public static final RowBinder<Animal> ANIMAL_BINDER = (statement, animal) -> {
+        statement.setInt(1, animal.getId());
+        statement.setInt(2, animal.getSpeciesId());
+        statement.setString(3, animal.getName());
+        statement.setTimestamp(4, Timestamp.valueOf(animal.getDateBorn()));
+    };
+
+    public static final List<Species> SPECIES = Arrays.asList(
+            new Species(1, "African Elephant", 7.5),
+            new Species(2, "Zebra", 1.2)
+    );
+
+    public static final List<Animal> ANIMALS = Arrays.asList(
+            new Animal(1, 1, "Elsa", LocalDateTime.of(2001, 5, 6, 2, 15)),
+            new Animal(2, 2, "Zelda", LocalDateTime.of(2002, 8, 15, 9, 12)),
+            new Animal(3, 1, "Ester", LocalDateTime.of(2002, 9, 9, 10, 36)),
+            new Animal(4, 1, "Eddie", LocalDateTime.of(2010, 6, 8, 1, 24)),
+            new Animal(5, 2, "Zoe", LocalDateTime.of(2005, 11, 12, 3, 44))
+    );
+
+    private ZooData() {}
+
+    public static BatchInsertLoader<Species> speciesLoader(JDBCBase base) {
+        return base.batchLoader(INSERT_SPECIES, SPECIES_BINDER);
+    }
+
+    public static BatchInsertLoader<Animal> animalLoader(JDBCBase base) {
+        return base.batchLoader(INSERT_ANIMAL, ANIMAL_BINDER);
+    }
+
+    public static void insertInitialData(JDBCBase base) throws SQLException {
+        speciesLoader(base).load(SPECIES.stream());
+        animalLoader(base).load(ANIMALS.stream());
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.github.lukehackett.ocp.chapter10.advisor;
+
+import com.github.lukehackett.ocp.chapter10.advisor.QueryRecorder.RecordedQuery;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class AdvisorReport {
+    private final List<RecordedQuery> queries;
+    private final Set<IndexRecommendation> recommendations;
+    private final Map<String, QueryPlan> before;
+    private final Map<String, QueryPlan> after;
+
+    public AdvisorReport(List<RecordedQuery> queries, Set<IndexRecommendation> recommendations,
+                         Map<String, QueryPlan> before, Map<String, QueryPlan> after) {
+        this.queries = queries;
+        this.recommendations = recommendations;
+        this.before = before;
+        this.after = after;
+    }
+
+    public Set<IndexRecommendation> getRecommendations() { return recommendations; }
+    public QueryPlan getPlanBefore(String sql) { return before.get(sql); }
+    public QueryPlan getPlanAfter(String sql) { return after.get(sql); }
+    public boolean isApplied() { return !after.isEmpty(); }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Recommendations:").append(System.lineSeparator());
+        if (recommendations.isEmpty()) {
+            report.append("  none").append(System.lineSeparator());
+        }
+        for (IndexRecommendation recommendation : recommendations) {
+            report.append("  ").append(recommendation).append(';').append(System.lineSeparator());
+        }
+
+        report.append("Queries:").append(System.lineSeparator());
+        for (RecordedQuery query : queries) {
+            report.append(String.format("  %s (executed %d times)%n    before: %s%n", query.getSql(), query.getCount(), before.get(query.getSql())));
+            if (isApplied()) {
+                report.append(String.format("    after:  %s%n", after.get(query.getSql())));
+            }
+        }
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.github.lukehackett.ocp.chapter10.advisor;
+
+import com.github.lukehackett.ocp.chapter10.JDBCBase;
+import com.github.lukehackett.ocp.chapter10.advisor.QueryRecorder.RecordedQuery;
+import com.github.lukehackett.ocp.chapter10.cache.SqlTables;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Suggests primary keys and single column indexes for the columns that recorded
+// queries filter, join or sort on, using H2's EXPLAIN ANALYZE to compare plans
+public class IndexAdvisor {
+    private static final Pattern SELECT = Pattern.compile("^\\s*SELECT\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSES = Pattern.compile("\\b(?:WHERE|ON|ORDER\\s+BY|GROUP\\s+BY)\\b(.*)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    private final JDBCBase base;
+
+    public IndexAdvisor(JDBCBase base) {
+        this.base = base;
+    }
+
+    public AdvisorReport analyse(QueryRecorder recorder, boolean apply) throws SQLException {
+        List<RecordedQuery> queries = new ArrayList<>();
+        for (RecordedQuery query : recorder.getQueries()) {
+            if (SELECT.matcher(query.getSql()).find()) {
+                queries.add(query);
+            }
+        }
+
+        Map<String, QueryPlan> before = explain(queries);
+        Set<IndexRecommendation> recommendations = new LinkedHashSet<>();
+
+        try (Connection connection = base.getConnection()) {
+            for (RecordedQuery query : queries) {
+                recommendations.addAll(recommend(connection, query.getSql()));
+            }
+        }
+
+        Map<String, QueryPlan> after = Collections.emptyMap();
+        if (apply && !recommendations.isEmpty()) {
+            for (IndexRecommendation recommendation : recommendations) {
+                for (String ddl : recommendation.getDdl()) {
+                    base.update(ddl);
+                }
+            }
+            after = explain(queries);
+        }
+
+        return new AdvisorReport(queries, recommendations, before, after);
+    }
+
+    private Map<String, QueryPlan> explain(List<RecordedQuery> queries) throws SQLException {
+        Map<String, QueryPlan> plans = new HashMap<>();
+
+        try (Connection connection = base.getConnection()) {
+            for (RecordedQuery query : queries) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN ANALYZE " + query.getSql())) {
+                    Object[] parameters = query.getParameters();
+                    for (int i = 0; i < parameters.length; i++) {
+                        statement.setObject(i + 1, parameters[i]);
+                    }
+
+                    try (ResultSet rs = statement.executeQuery()) {
+                        StringBuilder plan = new StringBuilder();
+                        while (rs.next()) {
+                            plan.append(rs.getString(1));
+                        }
+                        plans.put(query.getSql(), new QueryPlan(plan.toString(), scanCount(plan)));
+                    }
+                }
+            }
+        }
+        return plans;
+    }
+
+    private static long scanCount(CharSequence plan) {
+        long total = 0;
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        while (matcher.find()) {
+            total += Long.parseLong(matcher.group(1));
+        }
+        return total;
+    }
+
+    private List<IndexRecommendation> recommend(Connection connection, String sql) throws SQLException {
+        Matcher clauses = CLAUSES.matcher(sql);
+        if (!clauses.find()) {
+            return Collections.emptyList();
+        }
+
+        List<IndexRecommendation> recommendations = new ArrayList<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, String> aliases = SqlTables.tableAliases(sql);
+
+        for (String table : SqlTables.referencedTables(sql)) {
+            String name = resolveTable(metaData, table);
+            if (name == null) {
+                continue;
+            }
+
+            Set<String> qualifiers = new HashSet<>();
+            qualifiers.add(table);
+            for (Map.Entry<String, String> alias : aliases.entrySet()) {
+                if (alias.getValue().equals(table)) {
+                    qualifiers.add(alias.getKey());
+                }
+            }
+
+            Set<String> indexed = leadingIndexColumns(metaData, name);
+            boolean hasPrimaryKey = hasPrimaryKey(metaData, name);
+
+            for (String column : columns(metaData, name)) {
+                if (indexed.contains(column.toLowerCase(Locale.ROOT)) || !mentions(clauses.group(1), column, qualifiers)) {
+                    continue;
+                }
+
+                boolean primaryKey = !hasPrimaryKey && "id".equalsIgnoreCase(column) && isUnique(connection, name, column);
+                recommendations.add(new IndexRecommendation(name, column, primaryKey));
+            }
+        }
+        return recommendations;
+    }
+
+    // A qualified column only counts towards the table or alias it is qualified with. An unqualified
+    // one counts towards every table in the statement, as working out which one it belongs to needs the schema.
+    private static boolean mentions(String clauses, String column, Set<String> qualifiers) {
+        Matcher matcher = Pattern.compile("(?<![\\w`\".])(?:(\\w+)\\.)?[`\"]?" + Pattern.quote(column) + "[`\"]?(?![\\w`\"])", Pattern.CASE_INSENSITIVE)
+                .matcher(clauses);
+
+        while (matcher.find()) {
+            if (matcher.group(1) == null || qualifiers.contains(SqlTables.normalise(matcher.group(1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String resolveTable(DatabaseMetaData metaData, String table) throws SQLException {
+        for (String candidate : new String[] { table, table.toUpperCase(Locale.ROOT) }) {
+            try (ResultSet rs = metaData.getTables(null, null, candidate, new String[] { "TABLE" })) {
+                if (rs.next()) {
+                    return rs.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<String> columns(DatabaseMetaData metaData, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet rs = metaData.getColumns(null, null, table, null)) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        return columns;
+    }
+
+    private static Set<String> leadingIndexColumns(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (rs.next()) {
+                if (rs.getShort("ORDINAL_POSITION") == 1 && rs.getString("COLUMN_NAME") != null) {
+                    columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static boolean hasPrimaryKey(DatabaseMetaData metaData, String table) throws SQLException {
+        try (ResultSet rs = metaData.getPrimaryKeys(null, null, table)) {
+            return rs.next();
+        }
+    }
+
+    private static boolean isUnique(Connection connection, String table, String column) throws SQLException {
+        String sql = "SELECT COUNT(*), COUNT(" + column + "), COUNT(DISTINCT " + column + ") FROM " + table;
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1) == rs.getLong(2) && rs.getLong(2) == rs.getLong(3);
+        }
+    }
+
+}
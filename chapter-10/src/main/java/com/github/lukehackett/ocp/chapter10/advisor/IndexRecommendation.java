@@ -0,0 +1,48 @@
+package com.github.lukehackett.ocp.chapter10.advisor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class IndexRecommendation {
+    private final String table;
+    private final String column;
+    private final boolean primaryKey;
+    private final List<String> ddl;
+
+    public IndexRecommendation(String table, String column, boolean primaryKey) {
+        this.table = table;
+        this.column = column;
+        this.primaryKey = primaryKey;
+        // A primary key column has to be declared NOT NULL first; the advisor has already checked it holds no nulls
+        this.ddl = primaryKey
+                ? Arrays.asList(
+                        "ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NOT NULL",
+                        "ALTER TABLE " + table + " ADD PRIMARY KEY (" + column + ")")
+                : Collections.singletonList("CREATE INDEX idx_" + table + "_" + column + " ON " + table + " (" + column + ")");
+    }
+
+    public String getTable() { return table; }
+    public String getColumn() { return column; }
+    public boolean isPrimaryKey() { return primaryKey; }
+    public List<String> getDdl() { return ddl; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IndexRecommendation)) return false;
+        IndexRecommendation that = (IndexRecommendation) o;
+        return table.equals(that.table) && column.equals(that.column);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * table.hashCode() + column.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join("; ", ddl);
+    }
+
+}
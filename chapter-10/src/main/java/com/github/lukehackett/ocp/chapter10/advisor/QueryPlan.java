@@ -0,0 +1,26 @@
+package com.github.lukehackett.ocp.chapter10.advisor;
+
+public class QueryPlan {
+    private final String plan;
+    private final long scanCount;
+
+    public QueryPlan(String plan, long scanCount) {
+        this.plan = plan;
+        this.scanCount = scanCount;
+    }
+
+    public String getPlan() { return plan; }
+
+    // H2 does not report an estimated cost, so the number of rows scanned stands in for it
+    public long getScanCount() { return scanCount; }
+
+    public boolean usesTableScan() {
+        return plan.contains(".tableScan");
+    }
+
+    @Override
+    public String toString() {
+        return "scanCount: " + scanCount + (usesTableScan() ? " (table scan)" : "");
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.github.lukehackett.ocp.chapter10.advisor;
+
+import com.github.lukehackett.ocp.chapter10.query.QueryListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class QueryRecorder implements QueryListener {
+    private final Map<String, RecordedQuery> queries = new ConcurrentHashMap<>();
+
+    @Override
+    public void executed(String sql, Object[] parameters) {
+        // The first set of parameters seen is kept, so the query can be explained later
+        queries.computeIfAbsent(sql, key -> new RecordedQuery(sql, parameters.clone())).count.increment();
+    }
+
+    public List<RecordedQuery> getQueries() {
+        return new ArrayList<>(queries.values());
+    }
+
+    public void clear() {
+        queries.clear();
+    }
+
+    public static class RecordedQuery {
+        private final String sql;
+        private final Object[] parameters;
+        private final LongAdder count = new LongAdder();
+
+        RecordedQuery(String sql, Object[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public String getSql() { return sql; }
+        public Object[] getParameters() { return parameters.clone(); }
+        public long getCount() { return count.sum(); }
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.github.lukehackett.ocp.chapter10.async;
+
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapper;
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+import com.github.lukehackett.ocp.chapter10.query.Row;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Runs statements on a dedicated, bounded executor so callers never block on the database.
+// When every worker is busy and the queue is full, requests fail fast with a
+// RejectedExecutionException rather than piling up, which callers can treat as back-pressure.
+public class AsyncJdbc implements AutoCloseable {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final ConnectionFactory connections;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private volatile Consumer<String> updateListener = sql -> {};
+
+    public AsyncJdbc(ConnectionFactory connections, int threads, int queueCapacity) {
+        this.connections = connections;
+
+        String prefix = "async-jdbc-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Called with the SQL of every update that succeeds, before its future completes
+    public void setUpdateListener(Consumer<String> updateListener) {
+        this.updateListener = updateListener;
+    }
+
+    public CompletableFuture<List<Row>> query(String sql, Object... parameters) {
+        return submit(sql, parameters, statement -> {
+            try (ResultSet rs = statement.executeQuery()) {
+                RowMapper<Row> mapper = Row.MAPPER.create(rs.getMetaData());
+                List<Row> rows = new ArrayList<>();
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+                return rows;
+            }
+        });
+    }
+
+    // Hands each row to the consumer on the executor thread, completing with the number of rows read
+    public CompletableFuture<Long> stream(String sql, Consumer<? super Row> consumer, Object... parameters) {
+        return submit(sql, parameters, statement -> {
+            long count = 0;
+            try (ResultSet rs = statement.executeQuery()) {
+                RowMapper<Row> mapper = Row.MAPPER.create(rs.getMetaData());
+                while (rs.next()) {
+                    consumer.accept(mapper.map(rs));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    public CompletableFuture<Integer> update(String sql, Object... parameters) {
+        return submit(sql, parameters, statement -> {
+            int updated = statement.executeUpdate();
+            updateListener.accept(sql);
+            return updated;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(String sql, Object[] parameters, StatementTask<T> task) {
+        StatementFuture<T> future = new StatementFuture<>();
+
+        try {
+            executor.execute(() -> run(future, sql, parameters, task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> void run(StatementFuture<T> future, String sql, Object[] parameters, StatementTask<T> task) {
+        // Cancelled whilst still queued, so there is nothing to do
+        if (future.isDone()) {
+            return;
+        }
+
+        try (Connection connection = connections.create(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            if (!future.attach(statement)) {
+                return;
+            }
+            try {
+                future.complete(task.execute(statement));
+            } finally {
+                future.detach();
+            }
+
+        } catch (SQLException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface StatementTask<T> {
+        T execute(PreparedStatement statement) throws SQLException;
+    }
+
+    // Cancelling the future also cancels the statement if it is already running on the database
+    private static class StatementFuture<T> extends CompletableFuture<T> {
+        private PreparedStatement statement;
+
+        synchronized boolean attach(PreparedStatement statement) {
+            if (isDone()) {
+                return false;
+            }
+            this.statement = statement;
+            return true;
+        }
+
+        synchronized void detach() {
+            statement = null;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+            synchronized (this) {
+                if (cancelled && statement != null) {
+                    try {
+                        statement.cancel();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.github.lukehackett.ocp.chapter10.batch;
+
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class BatchInsertLoader<T> {
+    private final ConnectionFactory connections;
+    private final String sql;
+    private final RowBinder<T> binder;
+    private int batchSize = 1_000;
+    private int batchesPerCommit = 1;
+    private Runnable commitListener = () -> {};
+
+    public BatchInsertLoader(ConnectionFactory connections, String sql, RowBinder<T> binder) {
+        this.connections = connections;
+        this.sql = sql;
+        this.binder = binder;
+    }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1, but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchesPerCommit() { return batchesPerCommit; }
+    public void setBatchesPerCommit(int batchesPerCommit) {
+        if (batchesPerCommit < 1) {
+            throw new IllegalArgumentException("batchesPerCommit must be at least 1, but was " + batchesPerCommit);
+        }
+        this.batchesPerCommit = batchesPerCommit;
+    }
+
+    public String getSql() { return sql; }
+
+    public void setCommitListener(Runnable commitListener) {
+        this.commitListener = commitListener;
+    }
+
+    public LoadResult load(Stream<? extends T> rows) throws SQLException {
+        long start = System.nanoTime();
+        long count = 0;
+        long batches = 0;
+
+        try (Connection connection = connections.create(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+
+            try {
+                int pending = 0;
+                Iterator<? extends T> iterator = rows.iterator();
+
+                while (iterator.hasNext()) {
+                    binder.bind(statement, iterator.next());
+                    statement.addBatch();
+                    count++;
+
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+
+                        if (++batches % batchesPerCommit == 0) {
+                            commit(connection);
+                        }
+                    }
+                }
+
+                if (pending > 0) {
+                    statement.executeBatch();
+                    batches++;
+                }
+                commit(connection);
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        return new LoadResult(count, batches, System.nanoTime() - start);
+    }
+
+    private void commit(Connection connection) throws SQLException {
+        connection.commit();
+        commitListener.run();
+    }
+
+}
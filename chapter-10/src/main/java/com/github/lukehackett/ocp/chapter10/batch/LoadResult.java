@@ -0,0 +1,30 @@
+package com.github.lukehackett.ocp.chapter10.batch;
+
+import java.util.concurrent.TimeUnit;
+
+public class LoadResult {
+    private final long rows;
+    private final long batches;
+    private final long elapsedNanos;
+
+    public LoadResult(long rows, long batches, long elapsedNanos) {
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRows() { return rows; }
+    public long getBatches() { return batches; }
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Loaded %,d rows in %,d batches in %,dms (%,.0f rows/sec)",
+                rows, batches, getElapsedMillis(), getRowsPerSecond());
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.github.lukehackett.ocp.chapter10.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface RowBinder<T> {
+
+    void bind(PreparedStatement statement, T row) throws SQLException;
+
+}
@@ -0,0 +1,6 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+public enum BulkFormat {
+    CSV,
+    COLUMNAR
+}
@@ -0,0 +1,91 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+public enum ColumnType {
+    INT {
+        void write(DataOutput out, Object value) throws IOException { out.writeInt(((Number) value).intValue()); }
+        Object read(DataInput in) throws IOException { return in.readInt(); }
+    },
+    LONG {
+        void write(DataOutput out, Object value) throws IOException { out.writeLong(((Number) value).longValue()); }
+        Object read(DataInput in) throws IOException { return in.readLong(); }
+    },
+    DOUBLE {
+        void write(DataOutput out, Object value) throws IOException { out.writeDouble(((Number) value).doubleValue()); }
+        Object read(DataInput in) throws IOException { return in.readDouble(); }
+    },
+    STRING {
+        void write(DataOutput out, Object value) throws IOException {
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        Object read(DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    },
+    TIMESTAMP {
+        void write(DataOutput out, Object value) throws IOException {
+            Timestamp timestamp = (Timestamp) value;
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        }
+        Object read(DataInput in) throws IOException {
+            Timestamp timestamp = new Timestamp(in.readLong());
+            timestamp.setNanos(in.readInt());
+            return timestamp;
+        }
+    };
+
+    abstract void write(DataOutput out, Object value) throws IOException;
+
+    abstract Object read(DataInput in) throws IOException;
+
+    // Exact decimals are stored as doubles, which is enough for the zoo schema
+    public static ColumnType of(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return INT;
+            case Types.BIGINT:
+                return LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return DOUBLE;
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return TIMESTAMP;
+            default:
+                return STRING;
+        }
+    }
+
+    public Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (this) {
+            case INT:
+                return value instanceof Boolean ? ((Boolean) value ? 1 : 0) : value;
+            case TIMESTAMP:
+                return value instanceof java.sql.Date ? new Timestamp(((java.sql.Date) value).getTime()) : value;
+            default:
+                return value;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public class ColumnarReader implements Closeable {
+    private final DataInputStream in;
+    private final String[] names;
+    private final ColumnType[] types;
+
+    private Object[][] block = new Object[0][];
+    private int blockRows;
+    private int next;
+    private boolean finished;
+
+    public ColumnarReader(InputStream stream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024));
+
+        if (in.readInt() != ColumnarWriter.MAGIC) {
+            throw new IOException("Not a columnar export file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ColumnarWriter.VERSION) {
+            throw new IOException("Unsupported columnar format version: " + version);
+        }
+
+        int columns = in.readUnsignedShort();
+        names = new String[columns];
+        types = new ColumnType[columns];
+        for (int i = 0; i < columns; i++) {
+            byte[] name = new byte[in.readUnsignedShort()];
+            in.readFully(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+            types[i] = ColumnType.values()[in.readUnsignedByte()];
+        }
+    }
+
+    public String[] getColumnNames() {
+        return names.clone();
+    }
+
+    public ColumnType[] getColumnTypes() {
+        return types.clone();
+    }
+
+    // Returns the next row, or null once every block has been read
+    public Object[] readRow() throws IOException {
+        if (next == blockRows && !readBlock()) {
+            return null;
+        }
+
+        Object[] row = new Object[types.length];
+        for (int column = 0; column < types.length; column++) {
+            row[column] = block[column][next];
+        }
+        next++;
+        return row;
+    }
+
+    private boolean readBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+
+        int rows = in.readInt();
+        if (rows == 0) {
+            finished = true;
+            return false;
+        }
+
+        if (block.length == 0 || block[0].length < rows) {
+            block = new Object[types.length][rows];
+        }
+
+        byte[] nulls = new byte[(rows + 7) / 8];
+        for (int column = 0; column < types.length; column++) {
+            in.readFully(nulls);
+            for (int row = 0; row < rows; row++) {
+                boolean isNull = (nulls[row >> 3] & (1 << (row & 7))) != 0;
+                block[column][row] = isNull ? null : types[column].read(in);
+            }
+        }
+
+        blockRows = rows;
+        next = 0;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Writes rows in blocks, each block storing one column after another with a null
+// bitmap per column. Only a single block of rows is ever held in memory.
+public class ColumnarWriter implements RowWriter {
+    static final int MAGIC = 0x5A434F4C; // "ZCOL"
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private final ColumnType[] types;
+    private final Object[][] block;
+    private int rows;
+
+    public ColumnarWriter(OutputStream stream, String[] names, ColumnType[] types, int blockSize) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        this.types = types.clone();
+        this.block = new Object[types.length][blockSize];
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeShort(names.length);
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+            out.writeByte(types[i].ordinal());
+        }
+    }
+
+    @Override
+    public void write(Object[] row) throws IOException {
+        for (int column = 0; column < types.length; column++) {
+            block[column][rows] = types[column].convert(row[column]);
+        }
+        if (++rows == block[0].length) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        out.writeInt(rows);
+
+        byte[] nulls = new byte[(rows + 7) / 8];
+        for (int column = 0; column < types.length; column++) {
+            Object[] values = block[column];
+
+            Arrays.fill(nulls, (byte) 0);
+            for (int row = 0; row < rows; row++) {
+                if (values[row] == null) {
+                    nulls[row >> 3] |= 1 << (row & 7);
+                }
+            }
+            out.write(nulls);
+
+            for (int row = 0; row < rows; row++) {
+                if (values[row] != null) {
+                    types[column].write(out, values[row]);
+                    values[row] = null;
+                }
+            }
+        }
+        rows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                flushBlock();
+            }
+            // A zero length block marks the end of the data
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads RFC 4180 records one at a time, so memory use does not depend on the file size.
+// An empty unquoted field is read as null, whilst a quoted empty field ("") is an empty string.
+public class CsvReader implements Closeable {
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int limit;
+    private int pushback = NONE;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long record;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public String[] readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        record++;
+
+        boolean quoted = false;
+        while (true) {
+            if (c == '"' && field.length() == 0 && !quoted) {
+                quoted = true;
+                c = readQuoted();
+            } else if (c == ',') {
+                endField(quoted);
+                quoted = false;
+                c = read();
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                endField(quoted);
+                return fields.toArray(new String[0]);
+            } else {
+                field.append((char) c);
+                c = read();
+            }
+        }
+    }
+
+    public long getRecordNumber() {
+        return record;
+    }
+
+    // Returns the character following the closing quote
+    private int readQuoted() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IOException("Unterminated quoted field in record " + record);
+            }
+            if (c == '"') {
+                int next = read();
+                if (next != '"') {
+                    return next;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    private void endField(boolean quoted) {
+        fields.add(field.length() == 0 && !quoted ? null : field.toString());
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
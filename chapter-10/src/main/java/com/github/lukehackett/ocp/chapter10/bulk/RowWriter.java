@@ -0,0 +1,10 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface RowWriter extends Closeable {
+
+    void write(Object[] row) throws IOException;
+
+}
@@ -0,0 +1,96 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import com.github.lukehackett.ocp.chapter10.JDBCBase;
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapper;
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapperFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class TableExporter {
+    static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final JDBCBase base;
+    private int blockSize = 4_096;
+
+    public TableExporter(JDBCBase base) {
+        this.base = base;
+    }
+
+    public int getBlockSize() { return blockSize; }
+    public void setBlockSize(int blockSize) { this.blockSize = blockSize; }
+
+    public TransferResult export(String table, Path file, BulkFormat format) throws SQLException, IOException {
+        if (!IDENTIFIER.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+
+        long start = System.nanoTime();
+        long rows = 0;
+        Header header = new Header();
+
+        // Rows are streamed through a forward-only cursor, so only the current row is ever held
+        try (
+                Stream<Object[]> stream = base.stream(header, "SELECT * FROM " + table);
+                OutputStream out = Files.newOutputStream(file);
+                RowWriter writer = open(format, out, header)
+        ) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                rows++;
+            }
+        }
+
+        return new TransferResult("Exported", rows, Files.size(file), System.nanoTime() - start);
+    }
+
+    private RowWriter open(BulkFormat format, OutputStream out, Header header) throws IOException {
+        switch (format) {
+            case CSV:
+                CsvWriter writer = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024));
+                writer.writeRecord((Object[]) header.names);
+                return writer;
+            case COLUMNAR:
+                return new ColumnarWriter(out, header.names, header.types, blockSize);
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    // Captures the shape of the result set as the cursor is opened, before any rows are read
+    private static class Header implements RowMapperFactory<Object[]> {
+        String[] names;
+        ColumnType[] types;
+
+        @Override
+        public RowMapper<Object[]> create(ResultSetMetaData metaData) throws SQLException {
+            int columns = metaData.getColumnCount();
+            names = new String[columns];
+            types = new ColumnType[columns];
+            for (int i = 0; i < columns; i++) {
+                names[i] = metaData.getColumnLabel(i + 1);
+                types[i] = ColumnType.of(metaData.getColumnType(i + 1));
+            }
+
+            return rs -> {
+                Object[] row = new Object[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                return row;
+            };
+        }
+    }
+
+}
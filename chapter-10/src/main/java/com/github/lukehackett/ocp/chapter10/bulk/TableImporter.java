@@ -0,0 +1,145 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import com.github.lukehackett.ocp.chapter10.JDBCBase;
+import com.github.lukehackett.ocp.chapter10.batch.BatchInsertLoader;
+import com.github.lukehackett.ocp.chapter10.batch.LoadResult;
+import com.github.lukehackett.ocp.chapter10.batch.RowBinder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class TableImporter {
+    private static final RowBinder<Object[]> BINDER = (statement, row) -> {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    };
+
+    private final JDBCBase base;
+    private int batchSize = 1_000;
+    private int batchesPerCommit = 10;
+
+    public TableImporter(JDBCBase base) {
+        this.base = base;
+    }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getBatchesPerCommit() { return batchesPerCommit; }
+    public void setBatchesPerCommit(int batchesPerCommit) { this.batchesPerCommit = batchesPerCommit; }
+
+    public TransferResult importFile(String table, Path file, BulkFormat format) throws SQLException, IOException {
+        long start = System.nanoTime();
+        LoadResult result;
+
+        switch (format) {
+            case CSV:
+                try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)))) {
+                    String[] columns = reader.readRecord();
+                    if (columns == null) {
+                        throw new IOException("CSV file has no header record: " + file);
+                    }
+                    result = load(table, columns, records(() -> {
+                        String[] record;
+                        do {
+                            record = reader.readRecord();
+                        } while (record != null && record.length == 1 && record[0] == null);
+                        return record;
+                    }));
+                }
+                break;
+            case COLUMNAR:
+                try (ColumnarReader reader = new ColumnarReader(Files.newInputStream(file))) {
+                    result = load(table, reader.getColumnNames(), records(reader::readRow));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+
+        return new TransferResult("Imported", result.getRows(), Files.size(file), System.nanoTime() - start);
+    }
+
+    private LoadResult load(String table, String[] columns, Stream<Object[]> rows) throws SQLException {
+        BatchInsertLoader<Object[]> loader = base.batchLoader(insertSql(table, columns), BINDER);
+        loader.setBatchSize(batchSize);
+        loader.setBatchesPerCommit(batchesPerCommit);
+
+        try {
+            return loader.load(rows);
+        } catch (UncheckedIOException e) {
+            throw new SQLException("Failed reading import file", e.getCause());
+        }
+    }
+
+    private static String insertSql(String table, String[] columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(identifier(table)).append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(identifier(columns[i]));
+        }
+        sql.append(") VALUES (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').toString();
+    }
+
+    private static String identifier(String name) {
+        if (name == null || !TableExporter.IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid table or column name: " + name);
+        }
+        return name;
+    }
+
+    // Adapts a reader into a lazy stream, so records are only read as the loader consumes them
+    private static Stream<Object[]> records(RecordSource source) {
+        Iterator<Object[]> iterator = new Iterator<Object[]>() {
+            private Object[] next;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !done) {
+                    try {
+                        next = source.read();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    done = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] record = next;
+                next = null;
+                return record;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @FunctionalInterface
+    private interface RecordSource {
+        Object[] read() throws IOException;
+    }
+
+}
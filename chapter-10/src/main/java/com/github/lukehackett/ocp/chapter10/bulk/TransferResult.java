@@ -0,0 +1,36 @@
+package com.github.lukehackett.ocp.chapter10.bulk;
+
+import java.util.concurrent.TimeUnit;
+
+public class TransferResult {
+    private final String operation;
+    private final long rows;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    public TransferResult(String operation, long rows, long bytes, long elapsedNanos) {
+        this.operation = operation;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRows() { return rows; }
+    public long getBytes() { return bytes; }
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1024 * 1024);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %,d rows (%,.1f MB) in %,dms (%,.0f rows/sec, %,.1f MB/sec)",
+                operation, rows, bytes / (1024.0 * 1024), getElapsedMillis(), getRowsPerSecond(), getMegabytesPerSecond());
+    }
+
+}
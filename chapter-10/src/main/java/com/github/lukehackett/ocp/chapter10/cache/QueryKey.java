@@ -0,0 +1,38 @@
+package com.github.lukehackett.ocp.chapter10.cache;
+
+import java.util.Arrays;
+
+public final class QueryKey {
+    private final String sql;
+    private final Object[] parameters;
+    private final int hash;
+
+    public QueryKey(String sql, Object... parameters) {
+        this.sql = sql;
+        this.parameters = parameters.clone();
+        this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(this.parameters);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QueryKey)) return false;
+        QueryKey key = (QueryKey) o;
+        return hash == key.hash && sql.equals(key.sql) && Arrays.deepEquals(parameters, key.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return sql + " " + Arrays.deepToString(parameters);
+    }
+
+}
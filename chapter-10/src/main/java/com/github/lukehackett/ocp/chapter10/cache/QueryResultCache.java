@@ -0,0 +1,181 @@
+package com.github.lukehackett.ocp.chapter10.cache;
+
+import com.github.lukehackett.ocp.chapter10.query.Row;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class QueryResultCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<QueryKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<QueryKey>> keysByTable = new HashMap<>();
+
+    // Bumped on every invalidation, so a load that raced with a write is not cached
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    private long globalVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QueryResultCache(int maxEntries, long ttl, TimeUnit unit) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1, but was " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        List<Row> load() throws SQLException;
+    }
+
+    public List<Row> get(QueryKey key, Loader loader) throws SQLException {
+        Set<String> tables = SqlTables.referencedTables(key.getSql());
+        long[] versions;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt < 0) {
+                    hits.increment();
+                    return entry.rows;
+                }
+                remove(key, entry);
+                evictions.increment();
+            }
+            misses.increment();
+            versions = versionsOf(tables);
+        }
+
+        // Loaded outside of the lock, so a slow query does not hold up every other reader
+        List<Row> rows = Collections.unmodifiableList(loader.load());
+
+        // Results that cannot be tied to a table could never be invalidated, so are not cached
+        synchronized (this) {
+            if (!tables.isEmpty() && Arrays.equals(versions, versionsOf(tables))) {
+                put(key, new Entry(rows, tables, System.nanoTime() + ttlNanos));
+            }
+        }
+        return rows;
+    }
+
+    public synchronized void invalidate(Collection<String> tables) {
+        if (tables.contains("*")) {
+            invalidateAll();
+            return;
+        }
+
+        for (String table : tables) {
+            String name = SqlTables.normalise(table);
+            tableVersions.merge(name, 1L, Long::sum);
+
+            Set<QueryKey> keys = keysByTable.remove(name);
+            if (keys != null) {
+                for (QueryKey key : keys) {
+                    Entry entry = entries.get(key);
+                    if (entry != null) {
+                        remove(key, entry);
+                        invalidations.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        globalVersion++;
+        invalidations.add(entries.size());
+        entries.clear();
+        keysByTable.clear();
+    }
+
+    private void put(QueryKey key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+        for (String table : entry.tables) {
+            keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+        }
+
+        if (entries.size() > maxEntries) {
+            Iterator<Map.Entry<QueryKey, Entry>> eldest = entries.entrySet().iterator();
+            Map.Entry<QueryKey, Entry> evicted = eldest.next();
+            eldest.remove();
+            unindex(evicted.getKey(), evicted.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(QueryKey key, Entry entry) {
+        entries.remove(key);
+        unindex(key, entry);
+    }
+
+    private void unindex(QueryKey key, Entry entry) {
+        for (String table : entry.tables) {
+            Set<QueryKey> keys = keysByTable.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTable.remove(table);
+                }
+            }
+        }
+    }
+
+    private long[] versionsOf(Set<String> tables) {
+        long[] versions = new long[tables.size() + 1];
+        versions[0] = globalVersion;
+
+        int i = 1;
+        for (String table : tables) {
+            versions[i++] = tableVersions.getOrDefault(table, 0L);
+        }
+        return versions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getInvalidations() { return invalidations.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("QueryResultCache{ size: %d, hits: %d, misses: %d, evictions: %d, invalidations: %d }",
+                size(), getHits(), getMisses(), getEvictions(), getInvalidations());
+    }
+
+    private static class Entry {
+        final List<Row> rows;
+        final Set<String> tables;
+        final long expiresAt;
+
+        Entry(List<Row> rows, Set<String> tables, long expiresAt) {
+            this.rows = rows;
+            this.tables = tables;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
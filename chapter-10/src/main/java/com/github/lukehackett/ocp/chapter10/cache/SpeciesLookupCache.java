@@ -0,0 +1,166 @@
+package com.github.lukehackett.ocp.chapter10.cache;
+
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapper;
+import com.github.lukehackett.ocp.chapter10.mapping.SpeciesMapper;
+import com.github.lukehackett.ocp.chapter10.model.Species;
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+
+// An in-process copy of the species table, keyed by primitive id, so animal rows can be hydrated
+// without a join or a second query. Readers see an immutable snapshot that is swapped on refresh.
+public class SpeciesLookupCache {
+    private static final String SELECT_ALL = "SELECT id, name, num_acres FROM species";
+    private static final String SELECT_NEWER = SELECT_ALL + " WHERE id > ?";
+    private static final String SELECT_ONE = SELECT_ALL + " WHERE id = ?";
+    private static final String SELECT_COUNT = "SELECT COUNT(*) FROM species";
+
+    private final ConnectionFactory connections;
+    private final Object refreshLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot(new IntObjectMap<>(), Integer.MIN_VALUE);
+
+    // Set by writes, and cleared before a reload starts, so a write made during the reload marks it again
+    private volatile boolean stale = true;
+    private volatile boolean inserted;
+
+    public SpeciesLookupCache(ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    public Species get(int id) {
+        return snapshot.species.get(id);
+    }
+
+    public int size() {
+        return snapshot.species.size();
+    }
+
+    public boolean isStale() {
+        return stale || inserted;
+    }
+
+    // Replaces the cache with the current contents of the table
+    public void load() throws SQLException {
+        synchronized (refreshLock) {
+            stale = false;
+            inserted = false;
+            try (Connection connection = connections.create()) {
+                load(connection);
+            } catch (SQLException | RuntimeException e) {
+                stale = true;
+                throw e;
+            }
+        }
+    }
+
+    // Picks up species added since the last load, without re-reading the rows already held
+    public void refresh() throws SQLException {
+        synchronized (refreshLock) {
+            inserted = false;
+            try (Connection connection = connections.create()) {
+                Snapshot current = snapshot;
+                IntObjectMap<Species> species = new IntObjectMap<>(current.species);
+                int maxId = read(connection, species, SELECT_NEWER, current.maxLoadedId);
+
+                // A row inserted below the highest id already held is missed by the query above
+                if (count(connection) != species.size()) {
+                    load(connection);
+                } else {
+                    snapshot = new Snapshot(species, Math.max(maxId, current.maxLoadedId));
+                }
+            } catch (SQLException | RuntimeException e) {
+                inserted = true;
+                throw e;
+            }
+        }
+    }
+
+    // Re-reads a single species, removing it from the cache if it has since been deleted
+    public void refresh(int id) throws SQLException {
+        synchronized (refreshLock) {
+            try (Connection connection = connections.create()) {
+                Snapshot current = snapshot;
+                IntObjectMap<Species> species = new IntObjectMap<>(current.species);
+                species.remove(id);
+                int maxId = read(connection, species, SELECT_ONE, id);
+                snapshot = new Snapshot(species, Math.max(maxId, current.maxLoadedId));
+            }
+        }
+    }
+
+    // Inserts only need the new rows read, anything else reloads the whole table
+    public void refreshIfStale() throws SQLException {
+        if (stale) {
+            load();
+        } else if (inserted) {
+            refresh();
+        }
+    }
+
+    public void invalidate() {
+        stale = true;
+    }
+
+    // Called after each write made through JDBCBase
+    public void written(String sql) {
+        Set<String> tables = SqlTables.modifiedTables(sql);
+        if (tables.contains("species")) {
+            if (SqlTables.isInsert(sql)) {
+                inserted = true;
+            } else {
+                stale = true;
+            }
+        } else if (tables.equals(SqlTables.ALL_TABLES)) {
+            stale = true;
+        }
+    }
+
+    private void load(Connection connection) throws SQLException {
+        IntObjectMap<Species> species = new IntObjectMap<>();
+        int maxId = read(connection, species, SELECT_ALL);
+        snapshot = new Snapshot(species, maxId);
+    }
+
+    private static int read(Connection connection, IntObjectMap<Species> species, String sql, Object... parameters) throws SQLException {
+        int maxId = Integer.MIN_VALUE;
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            try (ResultSet rs = statement.executeQuery()) {
+                RowMapper<Species> mapper = SpeciesMapper.INSTANCE.create(rs.getMetaData());
+                while (rs.next()) {
+                    Species row = mapper.map(rs);
+                    species.put(row.getId(), row);
+                    maxId = Math.max(maxId, row.getId());
+                }
+            }
+        }
+        return maxId;
+    }
+
+    private static int count(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_COUNT); ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static class Snapshot {
+        final IntObjectMap<Species> species;
+        final int maxLoadedId;
+
+        Snapshot(IntObjectMap<Species> species, int maxLoadedId) {
+            this.species = species;
+            this.maxLoadedId = maxLoadedId;
+        }
+    }
+
+}
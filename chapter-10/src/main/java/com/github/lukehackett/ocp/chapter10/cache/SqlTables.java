@@ -0,0 +1,87 @@
+package com.github.lukehackett.ocp.chapter10.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A deliberately small SQL scanner, good enough to find which tables the simple
+// statements in this module read from or write to. Anything it cannot classify is
+// treated as touching every table.
+public final class SqlTables {
+    private static final String NAME = "[`\"]?(\\w+)[`\"]?";
+
+    private static final Pattern READ = Pattern.compile(
+            "\\b(?:FROM|JOIN)\\s+(" + NAME + "(?:\\s*,\\s*" + NAME + ")*)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LIST_ITEM = Pattern.compile(NAME + "(?:\\s+(?:AS\\s+)?\\w+)?");
+    private static final Pattern WRITE = Pattern.compile(
+            "^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|MERGE\\s+INTO|TRUNCATE\\s+TABLE|ALTER\\s+TABLE|DROP\\s+TABLE(?:\\s+IF\\s+EXISTS)?)\\s+" + NAME,
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern ALIASED = Pattern.compile(
+            "\\b(?:FROM|JOIN)\\s+" + NAME + "\\s+(?:AS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "where", "on", "using", "join", "inner", "left", "right", "full", "outer", "cross", "natural",
+            "order", "group", "having", "limit", "offset", "union", "for"));
+    private static final Pattern INSERT = Pattern.compile("^\\s*INSERT\\s+INTO\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUERY = Pattern.compile("^\\s*(?:SELECT|WITH|VALUES|EXPLAIN|SHOW)\\b", Pattern.CASE_INSENSITIVE);
+
+    public static final Set<String> ALL_TABLES = Collections.singleton("*");
+
+    private SqlTables() {}
+
+    public static Set<String> referencedTables(String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher matcher = READ.matcher(sql);
+
+        while (matcher.find()) {
+            for (String item : matcher.group(1).split(",")) {
+                Matcher name = LIST_ITEM.matcher(item.trim());
+                if (name.lookingAt()) {
+                    tables.add(normalise(name.group(1)));
+                }
+            }
+        }
+        return tables;
+    }
+
+    // Maps each alias given to a table directly after FROM or JOIN onto that table. Aliases
+    // within a comma separated FROM list are not recognised.
+    public static Map<String, String> tableAliases(String sql) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher matcher = ALIASED.matcher(sql);
+
+        while (matcher.find()) {
+            String alias = normalise(matcher.group(2));
+            if (!KEYWORDS.contains(alias)) {
+                aliases.put(alias, normalise(matcher.group(1)));
+            }
+        }
+        return aliases;
+    }
+
+    // Returns the table a write statement modifies, ALL_TABLES if it cannot tell, or
+    // an empty set for statements that do not modify anything
+    public static Set<String> modifiedTables(String sql) {
+        Matcher matcher = WRITE.matcher(sql);
+        if (matcher.find()) {
+            return Collections.singleton(normalise(matcher.group(1)));
+        }
+        return QUERY.matcher(sql).find() ? Collections.emptySet() : ALL_TABLES;
+    }
+
+    // Inserts only ever add rows, unlike updates, deletes and merges
+    public static boolean isInsert(String sql) {
+        return INSERT.matcher(sql).find();
+    }
+
+    public static String normalise(String table) {
+        return table.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.github.lukehackett.ocp.chapter10.ingest;
+
+import com.github.lukehackett.ocp.chapter10.batch.LoadResult;
+
+import java.util.List;
+
+public interface FlushListener<T> {
+
+    // Called once the rows have been committed, and are therefore durable
+    void onFlushed(List<T> rows, LoadResult result);
+
+    // Called when the transaction was rolled back; none of the rows were written
+    void onFailed(List<T> rows, Exception cause);
+
+}
@@ -0,0 +1,286 @@
+package com.github.lukehackett.ocp.chapter10.ingest;
+
+import com.github.lukehackett.ocp.chapter10.batch.BatchInsertLoader;
+import com.github.lukehackett.ocp.chapter10.batch.LoadResult;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Accepts rows into a bounded queue, and writes them on a background thread in batched transactions.
+// A batch is written once it reaches maxBatchSize rows, or maxDelay after its first row was queued.
+// The buffer takes over the loader's batch size, so that every batch is committed exactly once.
+public class WriteBehindBuffer<T> implements AutoCloseable {
+    private final BatchInsertLoader<T> loader;
+    private final int capacity;
+    private final ArrayDeque<T> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition completed = lock.newCondition();
+    private final Thread flusher;
+    private volatile int maxBatchSize = 500;
+    private volatile long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private volatile FlushListener<T> listener = new FlushListener<T>() {
+        @Override
+        public void onFlushed(List<T> rows, LoadResult result) {}
+
+        @Override
+        public void onFailed(List<T> rows, Exception cause) {
+            cause.printStackTrace();
+        }
+    };
+    private Thread shutdownHook;
+
+    // Guarded by lock
+    private long accepted;
+    private long written;
+    private long failed;
+    private boolean flushRequested;
+    private boolean closed;
+
+    public WriteBehindBuffer(BatchInsertLoader<T> loader, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, but was " + capacity);
+        }
+        this.loader = loader;
+        this.capacity = capacity;
+        this.queue = new ArrayDeque<>(capacity);
+
+        this.flusher = new Thread(this::run, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1, but was " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getMaxDelay(TimeUnit unit) { return unit.convert(maxDelayNanos, TimeUnit.NANOSECONDS); }
+    public void setMaxDelay(long maxDelay, TimeUnit unit) {
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+    }
+
+    public void setFlushListener(FlushListener<T> listener) {
+        this.listener = listener;
+    }
+
+    // Blocks while the buffer is full, which pushes back on producers that outpace the database
+    public void put(T row) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == capacity && !closed) {
+                notFull.await();
+            }
+            enqueue(row);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offer(T row, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == capacity && !closed) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            enqueue(row);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(T row) {
+        if (closed) {
+            throw new IllegalStateException("Write-behind buffer has been closed");
+        }
+        queue.addLast(row);
+        accepted++;
+
+        // Only wake the flusher when there is something new for it to act upon
+        if (queue.size() == 1 || queue.size() >= maxBatchSize) {
+            notEmpty.signal();
+        }
+    }
+
+    // Waits until every row accepted before this call has been either written or reported as failed
+    public void flush() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long target = accepted;
+            if (written + failed < target) {
+                flushRequested = true;
+                notEmpty.signal();
+            }
+            while (written + failed < target) {
+                completed.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return (int) (accepted - written - failed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getWrittenCount() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFailedCount() {
+        lock.lock();
+        try {
+            return failed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ensures buffered rows are written if the JVM exits without the buffer being closed
+    public synchronized void registerShutdownHook() {
+        if (shutdownHook == null) {
+            shutdownHook = new Thread(this::close, "write-behind-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<T> batch = nextBatch();
+            if (batch == null) {
+                return;
+            }
+            write(batch);
+        }
+    }
+
+    private List<T> nextBatch() {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.awaitUninterruptibly();
+            }
+
+            long deadline = System.nanoTime() + maxDelayNanos;
+            int size = maxBatchSize;
+            while (queue.size() < size && !flushRequested && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    notEmpty.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+            }
+
+            List<T> batch = new ArrayList<>(Math.min(size, queue.size()));
+            while (batch.size() < size && !queue.isEmpty()) {
+                batch.add(queue.pollFirst());
+            }
+            if (queue.isEmpty()) {
+                flushRequested = false;
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<T> batch) {
+        LoadResult result = null;
+        Exception failure = null;
+        try {
+            // The whole batch goes in one executeBatch and therefore one commit, so a failure leaves none of it written
+            loader.setBatchSize(batch.size());
+            result = loader.load(batch.stream());
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+        }
+
+        // Listeners are notified before the rows count as complete, so flush() returns after the callbacks
+        try {
+            if (failure == null) {
+                listener.onFlushed(batch, result);
+            } else {
+                listener.onFailed(batch, failure);
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+
+        lock.lock();
+        try {
+            if (failure == null) {
+                written += batch.size();
+            } else {
+                failed += batch.size();
+            }
+            completed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stops accepting rows, and waits for everything already buffered to be written
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (Thread.currentThread() != flusher) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException e) {
+                    // The JVM is already shutting down
+                }
+                shutdownHook = null;
+            }
+        }
+    }
+
+}
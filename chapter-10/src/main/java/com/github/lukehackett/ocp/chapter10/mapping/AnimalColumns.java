@@ -0,0 +1,84 @@
+package com.github.lukehackett.ocp.chapter10.mapping;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+// Columnar buffers for animals rows, for scans that only need a handful of columns
+// and would rather not allocate an object (or box a value) per row
+public class AnimalColumns {
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private int size;
+    private int[] ids;
+    private int[] speciesIds;
+    private String[] names;
+    private long[] dateBornMillis;
+
+    public AnimalColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new int[capacity];
+        speciesIds = new int[capacity];
+        names = new String[capacity];
+        dateBornMillis = new long[capacity];
+    }
+
+    public static AnimalColumns read(ResultSet rs) throws SQLException {
+        AnimalColumns columns = new AnimalColumns(1024);
+        columns.append(rs);
+        return columns;
+    }
+
+    public void append(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int id = ResultSets.indexOf(metaData, "id");
+        int speciesId = ResultSets.indexOf(metaData, "species_id");
+        int name = ResultSets.indexOf(metaData, "name");
+        int dateBorn = ResultSets.indexOf(metaData, "date_born");
+
+        while (rs.next()) {
+            if (size == ids.length) {
+                grow();
+            }
+
+            ids[size] = rs.getInt(id);
+            speciesIds[size] = rs.getInt(speciesId);
+            names[size] = rs.getString(name);
+
+            Timestamp born = rs.getTimestamp(dateBorn);
+            dateBornMillis[size] = born == null ? NULL_TIMESTAMP : born.getTime();
+            size++;
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        speciesIds = Arrays.copyOf(speciesIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        dateBornMillis = Arrays.copyOf(dateBornMillis, capacity);
+    }
+
+    public int size() { return size; }
+    public int getId(int row) { return ids[check(row)]; }
+    public int getSpeciesId(int row) { return speciesIds[check(row)]; }
+    public String getName(int row) { return names[check(row)]; }
+
+    public boolean hasDateBorn(int row) {
+        return dateBornMillis[check(row)] != NULL_TIMESTAMP;
+    }
+
+    public long getDateBornMillis(int row) {
+        return dateBornMillis[check(row)];
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside of 0.." + (size - 1));
+        }
+        return row;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.lukehackett.ocp.chapter10.mapping;
+
+import com.github.lukehackett.ocp.chapter10.cache.SpeciesLookupCache;
+import com.github.lukehackett.ocp.chapter10.model.Animal;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public class AnimalMapper implements RowMapperFactory<Animal> {
+    public static final AnimalMapper INSTANCE = new AnimalMapper(null);
+
+    private final SpeciesLookupCache species;
+
+    private AnimalMapper(SpeciesLookupCache species) {
+        this.species = species;
+    }
+
+    // Hydrates each animal's species from the lookup cache, rather than joining to the species table
+    public static AnimalMapper withSpecies(SpeciesLookupCache species) {
+        return new AnimalMapper(species);
+    }
+
+    // Checked once per query, so a write to species is picked up without a lookup per row
+    @Override
+    public void prepare() throws SQLException {
+        if (species != null) {
+            species.refreshIfStale();
+        }
+    }
+
+    @Override
+    public RowMapper<Animal> create(ResultSetMetaData metaData) throws SQLException {
+        int id = ResultSets.indexOf(metaData, "id");
+        int speciesId = ResultSets.indexOf(metaData, "species_id");
+        int name = ResultSets.indexOf(metaData, "name");
+        int dateBorn = ResultSets.indexOf(metaData, "date_born");
+
+        if (species == null) {
+            return rs -> {
+                Timestamp born = rs.getTimestamp(dateBorn);
+                return new Animal(rs.getInt(id), rs.getInt(speciesId), rs.getString(name), born == null ? null : born.toLocalDateTime());
+            };
+        }
+
+        return rs -> {
+            Timestamp born = rs.getTimestamp(dateBorn);
+            int animalSpeciesId = rs.getInt(speciesId);
+            return new Animal(rs.getInt(id), animalSpeciesId, rs.getString(name), born == null ? null : born.toLocalDateTime(), species.get(animalSpeciesId));
+        };
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.github.lukehackett.ocp.chapter10.mapping;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ResultSets {
+
+    private ResultSets() {}
+
+    public static int indexOf(ResultSetMetaData metaData, String label) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (label.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        throw new SQLException("Result set does not contain column: " + label);
+    }
+
+    public static <T> List<T> list(ResultSet rs, RowMapperFactory<T> factory) throws SQLException {
+        RowMapper<T> mapper = factory.create(rs.getMetaData());
+        List<T> results = new ArrayList<>();
+        while (rs.next()) {
+            results.add(mapper.map(rs));
+        }
+        return results;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.github.lukehackett.ocp.chapter10.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+
+}
@@ -0,0 +1,16 @@
+package com.github.lukehackett.ocp.chapter10.mapping;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+// Resolves everything that depends on the shape of a result set once, up front,
+// so the returned mapper only ever has to read columns by index
+@FunctionalInterface
+public interface RowMapperFactory<T> {
+
+    RowMapper<T> create(ResultSetMetaData metaData) throws SQLException;
+
+    // Called before the query borrows its connection, for any work that needs a connection of its own
+    default void prepare() throws SQLException {}
+
+}
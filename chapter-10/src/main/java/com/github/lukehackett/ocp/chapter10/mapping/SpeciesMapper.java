@@ -0,0 +1,20 @@
+package com.github.lukehackett.ocp.chapter10.mapping;
+
+import com.github.lukehackett.ocp.chapter10.model.Species;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+public class SpeciesMapper implements RowMapperFactory<Species> {
+    public static final SpeciesMapper INSTANCE = new SpeciesMapper();
+
+    @Override
+    public RowMapper<Species> create(ResultSetMetaData metaData) throws SQLException {
+        int id = ResultSets.indexOf(metaData, "id");
+        int name = ResultSets.indexOf(metaData, "name");
+        int numAcres = ResultSets.indexOf(metaData, "num_acres");
+
+        return rs -> new Species(rs.getInt(id), rs.getString(name), rs.getDouble(numAcres));
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.github.lukehackett.ocp.chapter10.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Wraps a connection, and every statement and result set created from it, so that
+// executions, rows fetched, batch sizes and connection hold time are recorded
+public final class InstrumentedConnection {
+
+    private InstrumentedConnection() {}
+
+    public static Connection wrap(Connection connection, SqlMetrics metrics) {
+        if (!metrics.isEnabled()) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection, metrics));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final SqlMetrics metrics;
+        private final long borrowedAt = System.nanoTime();
+        private boolean closed;
+
+        ConnectionHandler(Connection connection, SqlMetrics metrics) {
+            this.connection = connection;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        metrics.recordConnectionHold(System.nanoTime() - borrowedAt);
+                    }
+                    return delegate(connection, method, args);
+                case "createStatement":
+                    Statement statement = (Statement) delegate(connection, method, args);
+                    return proxy(Statement.class, new StatementHandler(statement, null, (Connection) proxy, metrics));
+                case "prepareStatement":
+                    PreparedStatement prepared = (PreparedStatement) delegate(connection, method, args);
+                    return proxy(PreparedStatement.class, new StatementHandler(prepared, (String) args[0], (Connection) proxy, metrics));
+                case "prepareCall":
+                    CallableStatement callable = (CallableStatement) delegate(connection, method, args);
+                    return proxy(CallableStatement.class, new StatementHandler(callable, (String) args[0], (Connection) proxy, metrics));
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return delegate(connection, method, args);
+            }
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final Connection connection;
+        private final SqlMetrics metrics;
+
+        // Prepared statements always run the same SQL, so their metrics are looked up once
+        private final StatementMetrics prepared;
+        private StatementMetrics current;
+        private String firstBatchSql;
+        private int pendingBatch;
+
+        StatementHandler(Statement statement, String sql, Connection connection, SqlMetrics metrics) {
+            this.statement = statement;
+            this.connection = connection;
+            this.metrics = metrics;
+            this.prepared = sql == null ? null : metrics.forSql(sql);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "execute":
+                case "executeQuery":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    current = metricsFor(args);
+                    return wrapResult(timed(current, method, args));
+                case "executeBatch":
+                case "executeLargeBatch":
+                    current = prepared != null ? prepared : metrics.forSql(firstBatchSql == null ? "<empty batch>" : firstBatchSql);
+                    current.recordBatch(pendingBatch);
+                    pendingBatch = 0;
+                    firstBatchSql = null;
+                    return timed(current, method, args);
+                case "addBatch":
+                    if (pendingBatch++ == 0 && args != null && args.length == 1) {
+                        firstBatchSql = (String) args[0];
+                    }
+                    return delegate(statement, method, args);
+                case "clearBatch":
+                    pendingBatch = 0;
+                    firstBatchSql = null;
+                    return delegate(statement, method, args);
+                case "getResultSet":
+                    return wrapResult(delegate(statement, method, args));
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return delegate(statement, method, args);
+            }
+        }
+
+        private StatementMetrics metricsFor(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                return metrics.forSql((String) args[0]);
+            }
+            return prepared != null ? prepared : metrics.forSql("<unknown>");
+        }
+
+        private Object timed(StatementMetrics target, Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = delegate(statement, method, args);
+                failed = false;
+                return result;
+            } finally {
+                target.recordExecution(System.nanoTime() - start, failed);
+            }
+        }
+
+        private Object wrapResult(Object result) {
+            if (result instanceof ResultSet && current != null) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, current));
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet rs;
+        private final StatementMetrics metrics;
+
+        ResultSetHandler(ResultSet rs, StatementMetrics metrics) {
+            this.rs = rs;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("next".equals(method.getName())) {
+                boolean hasRow = rs.next();
+                if (hasRow) {
+                    metrics.recordRow();
+                }
+                return hasRow;
+            }
+            return delegate(rs, method, args);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.lukehackett.ocp.chapter10.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class MetricsReporter implements AutoCloseable {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sql-metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final SqlMetrics metrics;
+    private final Consumer<MetricsSnapshot> exporter;
+
+    public MetricsReporter(SqlMetrics metrics, long period, TimeUnit unit, Consumer<MetricsSnapshot> exporter) {
+        this.metrics = metrics;
+        this.exporter = exporter;
+        scheduler.scheduleAtFixedRate(this::report, period, period, unit);
+    }
+
+    // Exports a snapshot straight away, in addition to the periodic ones
+    public void report() {
+        try {
+            exporter.accept(metrics.snapshot());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+
+}
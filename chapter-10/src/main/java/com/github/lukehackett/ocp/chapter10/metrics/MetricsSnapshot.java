@@ -0,0 +1,35 @@
+package com.github.lukehackett.ocp.chapter10.metrics;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+public class MetricsSnapshot {
+    private final long timestamp;
+    private final List<StatementMetrics.Snapshot> statements;
+    private final LatencyHistogram.Snapshot connectionHold;
+
+    MetricsSnapshot(long timestamp, List<StatementMetrics.Snapshot> statements, LatencyHistogram.Snapshot connectionHold) {
+        this.timestamp = timestamp;
+        this.statements = Collections.unmodifiableList(statements);
+        this.connectionHold = connectionHold;
+    }
+
+    public long getTimestamp() { return timestamp; }
+
+    // Ordered by the total time spent in each statement, most expensive first
+    public List<StatementMetrics.Snapshot> getStatements() { return statements; }
+
+    public LatencyHistogram.Snapshot getConnectionHold() { return connectionHold; }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("SQL metrics at ").append(Instant.ofEpochMilli(timestamp)).append(System.lineSeparator());
+        report.append("  connection hold: ").append(connectionHold).append(System.lineSeparator());
+        for (StatementMetrics.Snapshot statement : statements) {
+            report.append("  ").append(statement).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+}
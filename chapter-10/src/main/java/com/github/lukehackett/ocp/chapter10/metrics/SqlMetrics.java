@@ -0,0 +1,63 @@
+package com.github.lukehackett.ocp.chapter10.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+public class SqlMetrics {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_FINGERPRINT_LENGTH = 200;
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+
+    private final Map<String, StatementMetrics> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionHold = new LatencyHistogram();
+    private volatile boolean enabled = true;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public StatementMetrics forSql(String sql) {
+        return statements.computeIfAbsent(fingerprint(sql), StatementMetrics::new);
+    }
+
+    void recordConnectionHold(long nanos) {
+        connectionHold.record(nanos);
+    }
+
+    // Literals are replaced with ?, so queries built by concatenation share a fingerprint
+    public String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+
+        fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+        if (fingerprint.length() > MAX_FINGERPRINT_LENGTH) {
+            fingerprint = fingerprint.substring(0, MAX_FINGERPRINT_LENGTH) + "...";
+        }
+
+        if (fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    public MetricsSnapshot snapshot() {
+        List<StatementMetrics.Snapshot> snapshots = new ArrayList<>();
+        for (StatementMetrics metrics : statements.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong((StatementMetrics.Snapshot s) -> s.getLatency().getTotalNanos()).reversed());
+
+        return new MetricsSnapshot(System.currentTimeMillis(), snapshots, connectionHold.snapshot());
+    }
+
+}
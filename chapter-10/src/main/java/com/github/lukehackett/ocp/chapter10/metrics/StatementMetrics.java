@@ -0,0 +1,83 @@
+package com.github.lukehackett.ocp.chapter10.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StatementMetrics {
+    private final String fingerprint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rowsFetched = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRows = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    StatementMetrics(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void recordExecution(long nanos, boolean failed) {
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void recordBatch(int size) {
+        batches.increment();
+        batchedRows.add(size);
+        maxBatchSize.accumulateAndGet(size, Math::max);
+    }
+
+    void recordRow() {
+        rowsFetched.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(fingerprint, latency.snapshot(), rowsFetched.sum(), errors.sum(),
+                batches.sum(), batchedRows.sum(), maxBatchSize.get());
+    }
+
+    public static class Snapshot {
+        private final String fingerprint;
+        private final LatencyHistogram.Snapshot latency;
+        private final long rowsFetched;
+        private final long errors;
+        private final long batches;
+        private final long batchedRows;
+        private final long maxBatchSize;
+
+        Snapshot(String fingerprint, LatencyHistogram.Snapshot latency, long rowsFetched, long errors,
+                 long batches, long batchedRows, long maxBatchSize) {
+            this.fingerprint = fingerprint;
+            this.latency = latency;
+            this.rowsFetched = rowsFetched;
+            this.errors = errors;
+            this.batches = batches;
+            this.batchedRows = batchedRows;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public String getFingerprint() { return fingerprint; }
+        public LatencyHistogram.Snapshot getLatency() { return latency; }
+        public long getRowsFetched() { return rowsFetched; }
+        public long getErrors() { return errors; }
+        public long getBatches() { return batches; }
+        public long getBatchedRows() { return batchedRows; }
+        public long getMaxBatchSize() { return maxBatchSize; }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0 : batchedRows / (double) batches;
+        }
+
+        @Override
+        public String toString() {
+            String summary = String.format("%s%n    %s, rows: %d, errors: %d", fingerprint, latency, rowsFetched, errors);
+            if (batches > 0) {
+                summary += String.format(", batches: %d, avgBatch: %.1f, maxBatch: %d", batches, getAverageBatchSize(), maxBatchSize);
+            }
+            return summary;
+        }
+    }
+
+}
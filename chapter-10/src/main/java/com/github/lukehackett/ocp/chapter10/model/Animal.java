@@ -0,0 +1,36 @@
+package com.github.lukehackett.ocp.chapter10.model;
+
+import java.time.LocalDateTime;
+
+public class Animal {
+    private final int id;
+    private final int speciesId;
+    private final String name;
+    private final LocalDateTime dateBorn;
+    private final Species species;
+
+    public Animal(int id, int speciesId, String name, LocalDateTime dateBorn) {
+        this(id, speciesId, name, dateBorn, null);
+    }
+
+    // Species is only populated when the animal was hydrated from a species lookup
+    public Animal(int id, int speciesId, String name, LocalDateTime dateBorn, Species species) {
+        this.id = id;
+        this.speciesId = speciesId;
+        this.name = name;
+        this.dateBorn = dateBorn;
+        this.species = species;
+    }
+
+    public int getId() { return id; }
+    public int getSpeciesId() { return speciesId; }
+    public String getName() { return name; }
+    public LocalDateTime getDateBorn() { return dateBorn; }
+    public Species getSpecies() { return species; }
+
+    @Override
+    public String toString() {
+        return String.format("{ id: %s, speciesId: %s, name: %s, dateBorn: %s }", id, speciesId, name, dateBorn);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.github.lukehackett.ocp.chapter10.model;
+
+public class Species {
+    private final int id;
+    private final String name;
+    private final double numAcres;
+
+    public Species(int id, String name, double numAcres) {
+        this.id = id;
+        this.name = name;
+        this.numAcres = numAcres;
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public double getNumAcres() { return numAcres; }
+
+    @Override
+    public String toString() {
+        return String.format("{ id: %s, name: %s, numAcres: %s }", id, name, numAcres);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.github.lukehackett.ocp.chapter10.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    Connection create() throws SQLException;
+
+}
@@ -0,0 +1,294 @@
+package com.github.lukehackett.ocp.chapter10.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class ConnectionPool implements AutoCloseable {
+    private final ConnectionFactory factory;
+    private final PoolConfig config;
+
+    // A permit is held for every borrowed connection, which bounds the number of active connections
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    public ConnectionPool(ConnectionFactory factory, PoolConfig config) {
+        config.validate();
+        this.factory = factory;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(this::maintain, 0, config.getEvictionIntervalMillis(), MILLISECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + MILLISECONDS.toNanos(config.getBorrowTimeoutMillis());
+        acquirePermit(deadline);
+
+        try {
+            PooledConnection pooled = take(deadline);
+            recordWait(System.nanoTime() - start);
+            active.incrementAndGet();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            if (closed || !pooled.reset()) {
+                destroy(pooled);
+            } else {
+                pooled.lastUsed = System.nanoTime();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit(long deadline) throws SQLException {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), NANOSECONDS)) {
+                throw timeout();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted whilst waiting for a connection", e);
+        }
+    }
+
+    private PooledConnection take(long deadline) throws SQLException {
+        while (true) {
+            // Idle connections are used most recently returned first, which keeps the
+            // surplus at the tail of the deque where the evictor can reclaim it
+            PooledConnection pooled = idle.pollFirst();
+
+            if (pooled == null) {
+                if (reserve()) {
+                    return create();
+                }
+
+                // Every slot is taken, but one is being returned or created by the evictor
+                try {
+                    pooled = idle.pollFirst(deadline - System.nanoTime(), NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted whilst waiting for a connection", e);
+                }
+                if (pooled == null) {
+                    throw timeout();
+                }
+            }
+
+            if (isValid(pooled)) {
+                return pooled;
+            }
+            destroy(pooled);
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        if (!config.isTestOnBorrow()) {
+            return true;
+        }
+        try {
+            return pooled.connection.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = total.get();
+            if (current >= config.getMaxSize()) {
+                return false;
+            }
+        } while (!total.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    private PooledConnection create() throws SQLException {
+        try {
+            return new PooledConnection(this, factory.create(), config.getStatementCacheSize());
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        total.decrementAndGet();
+        try {
+            pooled.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private SQLTimeoutException timeout() {
+        timeoutCount.increment();
+        return new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMillis()
+                + "ms waiting for a connection (active=" + getActiveCount() + ", idle=" + getIdleCount() + ")");
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordStatementHit() {
+        statementHits.increment();
+    }
+
+    void recordStatementMiss() {
+        statementMisses.increment();
+    }
+
+    void recordStatementEviction() {
+        statementEvictions.increment();
+    }
+
+    private void maintain() {
+        try {
+            evictIdle();
+            fillIdle();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+        Iterator<PooledConnection> iterator = idle.descendingIterator();
+
+        while (iterator.hasNext() && idle.size() > config.getMinIdle()) {
+            PooledConnection pooled = iterator.next();
+            if (pooled.lastUsed - cutoff < 0 && idle.removeLastOccurrence(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    private void fillIdle() {
+        while (!closed && idle.size() < config.getMinIdle() && reserve()) {
+            try {
+                idle.offerLast(create());
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+    }
+
+    public int getMaxSize() {
+        return config.getMaxSize();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return total.get();
+    }
+
+    public int getPendingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.sum();
+        return borrows == 0 ? 0 : waitNanos.sum() / (borrows * 1_000_000.0);
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    public long getStatementCacheHits() {
+        return statementHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementMisses.sum();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementEvictions.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool{ active: %d, idle: %d, total: %d, pending: %d, borrows: %d, timeouts: %d, avgWait: %.3fms, maxWait: %.3fms, "
+                        + "statementHits: %d, statementMisses: %d, statementEvictions: %d }",
+                getActiveCount(), getIdleCount(), getTotalCount(), getPendingCount(),
+                getBorrowCount(), getTimeoutCount(), getAverageWaitMillis(), getMaxWaitMillis(),
+                getStatementCacheHits(), getStatementCacheMisses(), getStatementCacheEvictions());
+    }
+
+}
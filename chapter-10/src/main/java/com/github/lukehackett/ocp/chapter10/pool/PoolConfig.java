@@ -0,0 +1,53 @@
+package com.github.lukehackett.ocp.chapter10.pool;
+
+public class PoolConfig {
+    private int minIdle = 2;
+    private int maxSize = 10;
+    private long borrowTimeoutMillis = 5_000;
+    private long idleTimeoutMillis = 60_000;
+    private long evictionIntervalMillis = 30_000;
+    private boolean testOnBorrow = true;
+    private int validationTimeoutSeconds = 1;
+    private int statementCacheSize = 64;
+
+    public int getMinIdle() { return minIdle; }
+    public void setMinIdle(int minIdle) { this.minIdle = minIdle; }
+
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+    public long getBorrowTimeoutMillis() { return borrowTimeoutMillis; }
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) { this.borrowTimeoutMillis = borrowTimeoutMillis; }
+
+    public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) { this.idleTimeoutMillis = idleTimeoutMillis; }
+
+    public long getEvictionIntervalMillis() { return evictionIntervalMillis; }
+    public void setEvictionIntervalMillis(long evictionIntervalMillis) { this.evictionIntervalMillis = evictionIntervalMillis; }
+
+    public boolean isTestOnBorrow() { return testOnBorrow; }
+    public void setTestOnBorrow(boolean testOnBorrow) { this.testOnBorrow = testOnBorrow; }
+
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) { this.validationTimeoutSeconds = validationTimeoutSeconds; }
+
+    // Maximum number of prepared statements cached per connection, zero disables the cache
+    public int getStatementCacheSize() { return statementCacheSize; }
+    public void setStatementCacheSize(int statementCacheSize) { this.statementCacheSize = statementCacheSize; }
+
+    void validate() {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1, but was " + maxSize);
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("minIdle must be between 0 and " + maxSize + ", but was " + minIdle);
+        }
+        if (borrowTimeoutMillis < 0 || idleTimeoutMillis < 0 || evictionIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Timeouts must be positive");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("statementCacheSize cannot be negative, but was " + statementCacheSize);
+        }
+    }
+
+}
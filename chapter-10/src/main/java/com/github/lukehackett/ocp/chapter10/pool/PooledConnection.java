@@ -0,0 +1,209 @@
+package com.github.lukehackett.ocp.chapter10.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class PooledConnection {
+    final Connection connection;
+    private final ConnectionPool pool;
+    private final StatementCache statementCache;
+    volatile long lastUsed = System.nanoTime();
+
+    // The session state a borrower may change, as it was when the connection was created
+    private final boolean readOnly;
+    private final int transactionIsolation;
+    private final String catalog;
+    private final String schema;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) throws SQLException {
+        this.pool = pool;
+        this.connection = connection;
+
+        try {
+            this.readOnly = connection.isReadOnly();
+            this.transactionIsolation = connection.getTransactionIsolation();
+            this.catalog = connection.getCatalog();
+            this.schema = connection.getSchema();
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(connection, pool, statementCacheSize) : null;
+    }
+
+    // Each borrow hands out a fresh proxy, so a caller holding on to a returned
+    // connection can never affect whoever borrows the physical connection next
+    Connection lease() {
+        return (Connection) proxy(Connection.class, new Lease());
+    }
+
+    boolean reset() {
+        try {
+            if (statementCache != null) {
+                statementCache.releaseAll();
+            }
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (connection.isReadOnly() != readOnly) {
+                connection.setReadOnly(readOnly);
+            }
+            if (connection.getTransactionIsolation() != transactionIsolation) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+            if (catalog != null && !catalog.equals(connection.getCatalog())) {
+                connection.setCatalog(catalog);
+            }
+            if (schema != null && !schema.equals(connection.getSchema())) {
+                connection.setSchema(schema);
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void close() throws SQLException {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        connection.close();
+    }
+
+    private class Lease implements InvocationHandler {
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    if (closed.get()) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + connection + "]";
+            }
+
+            if (closed.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            switch (method.getName()) {
+                case "unwrap":
+                    return unwrap(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+            }
+
+            if (statementCache != null && "prepareStatement".equals(method.getName()) && args.length == 1) {
+                return own(statementCache.prepare((String) args[0], (Connection) proxy), (Connection) proxy, null);
+            }
+
+            return own(delegate(connection, method, args), (Connection) proxy, null);
+        }
+    }
+
+    // Statements, result sets and metadata are wrapped so that none of them can hand out the
+    // physical connection, which would let a caller keep using it after it went back to the pool
+    private static Object own(Object result, Connection owner, Object statement) {
+        if (result instanceof CallableStatement) {
+            return proxy(CallableStatement.class, new Owned(result, owner, null));
+        }
+        if (result instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, new Owned(result, owner, null));
+        }
+        if (result instanceof Statement) {
+            return proxy(Statement.class, new Owned(result, owner, null));
+        }
+        if (result instanceof ResultSet) {
+            return proxy(ResultSet.class, new Owned(result, owner, statement));
+        }
+        if (result instanceof DatabaseMetaData) {
+            return proxy(DatabaseMetaData.class, new Owned(result, owner, null));
+        }
+        return result;
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object unwrap(Object proxy, Class<?> type) throws SQLException {
+        if (type.isInstance(proxy)) {
+            return proxy;
+        }
+        throw new SQLException("A pooled " + proxy.getClass().getInterfaces()[0].getSimpleName() + " cannot be unwrapped to " + type.getName());
+    }
+
+    private static class Owned implements InvocationHandler {
+        private final Object target;
+        private final Connection owner;
+        // The statement proxy a result set came from, or null for metadata result sets
+        private final Object statement;
+
+        Owned(Object target, Connection owner, Object statement) {
+            this.target = target;
+            this.owner = owner;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return owner;
+                case "getStatement":
+                    return statement;
+                case "unwrap":
+                    return unwrap(proxy, (Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return Objects.toString(target);
+            }
+
+            Object result = delegate(target, method, args);
+            return own(result, owner, target instanceof Statement ? proxy : null);
+        }
+    }
+
+}
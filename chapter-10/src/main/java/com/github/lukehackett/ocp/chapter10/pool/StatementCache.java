@@ -0,0 +1,203 @@
+package com.github.lukehackett.ocp.chapter10.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A per-connection LRU cache of prepared statements, keyed by SQL text. Only the
+// plain prepareStatement(String) form is cached, so statements created with a
+// specific result set type or generated keys always go straight to the driver.
+class StatementCache {
+    private final Connection connection;
+    private final ConnectionPool pool;
+    private final int maxSize;
+    private final Map<String, CachedStatement> entries;
+
+    StatementCache(Connection connection, ConnectionPool pool, int maxSize) {
+        this.connection = connection;
+        this.pool = pool;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    evict(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        CachedStatement entry = entries.get(sql);
+
+        if (entry != null && !entry.inUse) {
+            pool.recordStatementHit();
+            return entry.lease(owner);
+        }
+
+        pool.recordStatementMiss();
+        PreparedStatement statement = connection.prepareStatement(sql);
+
+        // The same SQL is already open on this connection, so this one is not cached
+        if (entry != null) {
+            return statement;
+        }
+
+        entry = new CachedStatement(statement);
+        entries.put(sql, entry);
+        return entry.lease(owner);
+    }
+
+    // Called when the connection goes back to the pool, reclaiming any statements the borrower left open
+    synchronized void releaseAll() {
+        for (CachedStatement entry : new ArrayList<>(entries.values())) {
+            if (entry.inUse) {
+                release(entry);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        for (CachedStatement entry : entries.values()) {
+            closeQuietly(entry.statement);
+        }
+        entries.clear();
+    }
+
+    private synchronized void release(CachedStatement entry) {
+        entry.inUse = false;
+        entry.leaseId++;
+
+        if (entry.evicted || !entry.reset()) {
+            entries.values().remove(entry);
+            closeQuietly(entry.statement);
+        }
+    }
+
+    private void evict(CachedStatement entry) {
+        pool.recordStatementEviction();
+        entry.evicted = true;
+
+        // A statement still in use is closed when its borrower is finished with it
+        if (!entry.inUse) {
+            closeQuietly(entry.statement);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private class CachedStatement {
+        final PreparedStatement statement;
+        final int fetchSize;
+        final int maxRows;
+        final int queryTimeout;
+        boolean inUse;
+        boolean evicted;
+        long leaseId;
+
+        CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        PreparedStatement lease(Connection owner) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new Lease(this, leaseId, owner)
+            );
+        }
+
+        // Puts the statement back into the state the next borrower expects of a new one
+        boolean reset() {
+            try {
+                ResultSet rs = statement.getResultSet();
+                if (rs != null) {
+                    rs.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                if (statement.getFetchSize() != fetchSize) statement.setFetchSize(fetchSize);
+                if (statement.getMaxRows() != maxRows) statement.setMaxRows(maxRows);
+                if (statement.getQueryTimeout() != queryTimeout) statement.setQueryTimeout(queryTimeout);
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    private class Lease implements InvocationHandler {
+        private final CachedStatement entry;
+        private final long leaseId;
+        private final Connection owner;
+        private boolean closed;
+
+        Lease(CachedStatement entry, long leaseId, Connection owner) {
+            this.entry = entry;
+            this.leaseId = leaseId;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (StatementCache.this) {
+                        if (!closed && entry.leaseId == leaseId) {
+                            release(entry);
+                        }
+                        closed = true;
+                    }
+                    return null;
+                case "isClosed":
+                    return isReleased() || entry.statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + entry.statement + "]";
+            }
+
+            if (isReleased()) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private boolean isReleased() {
+            synchronized (StatementCache.this) {
+                return closed || entry.leaseId != leaseId;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.github.lukehackett.ocp.chapter10.query;
+
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+public class KeysetPaginator {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final ConnectionFactory connections;
+    private final String keyColumn;
+    private final int pageSize;
+    private final int indexInterval;
+
+    private final String firstSql;
+    private final String afterSql;
+    private final String beforeSql;
+    private final String fromSql;
+    private final String keysSql;
+    private final String keysFromSql;
+
+    // Sparse index of the first key on every indexInterval-th page, so that a jump to
+    // any page only ever has to skip over fewer than indexInterval pages of keys
+    private final ConcurrentSkipListMap<Integer, Long> pageIndex = new ConcurrentSkipListMap<>();
+
+    // The first page known to be past the end of the table, so that jumps beyond it need no query
+    private volatile int endPage = Integer.MAX_VALUE;
+
+    public KeysetPaginator(ConnectionFactory connections, String table, String keyColumn, int pageSize) {
+        this(connections, table, keyColumn, pageSize, 16);
+    }
+
+    public KeysetPaginator(ConnectionFactory connections, String table, String keyColumn, int pageSize, int indexInterval) {
+        if (pageSize < 1 || indexInterval < 1) {
+            throw new IllegalArgumentException("pageSize and indexInterval must be at least 1");
+        }
+        this.connections = connections;
+        this.keyColumn = identifier(keyColumn);
+        this.pageSize = pageSize;
+        this.indexInterval = indexInterval;
+
+        String select = "SELECT * FROM " + identifier(table);
+        this.firstSql = select + " ORDER BY " + keyColumn + " LIMIT ?";
+        this.afterSql = select + " WHERE " + keyColumn + " > ? ORDER BY " + keyColumn + " LIMIT ?";
+        this.beforeSql = select + " WHERE " + keyColumn + " < ? ORDER BY " + keyColumn + " DESC LIMIT ?";
+        this.fromSql = select + " WHERE " + keyColumn + " >= ? ORDER BY " + keyColumn + " LIMIT ? OFFSET ?";
+        this.keysSql = "SELECT " + keyColumn + " FROM " + table + " ORDER BY " + keyColumn + " LIMIT ?";
+        this.keysFromSql = "SELECT " + keyColumn + " FROM " + table + " WHERE " + keyColumn + " >= ? ORDER BY " + keyColumn + " LIMIT ?";
+    }
+
+    public Page first() throws SQLException {
+        List<Row> rows = fetch(firstSql, pageSize + 1);
+        return toPage(1, rows, false);
+    }
+
+    public Page next(Page page) throws SQLException {
+        // Past the end there is no key to seek from, so the following page is empty without asking the database
+        if (!page.hasNext()) {
+            return new Page(page.getNumber() + 1, new ArrayList<>(), null, null, true, false);
+        }
+
+        List<Row> rows = fetch(afterSql, page.getLastKey(), pageSize + 1);
+        return toPage(page.getNumber() + 1, rows, true);
+    }
+
+    public Page previous(Page page) throws SQLException {
+        if (page.getNumber() <= 1) {
+            return first();
+        }
+        if (page.isEmpty()) {
+            return page(page.getNumber() - 1);
+        }
+
+        // Seek backwards from the first key, then restore ascending order
+        List<Row> rows = fetch(beforeSql, page.getFirstKey(), pageSize + 1);
+        boolean hasPrevious = rows.size() > pageSize;
+        if (hasPrevious) {
+            rows.remove(rows.size() - 1);
+        }
+        Collections.reverse(rows);
+
+        return index(new Page(page.getNumber() - 1, rows, firstKey(rows), lastKey(rows), hasPrevious, true));
+    }
+
+    public Page page(int number) throws SQLException {
+        if (number < 1) {
+            throw new IllegalArgumentException("Page numbers start at 1, but was " + number);
+        }
+        if (number == 1) {
+            return first();
+        }
+
+        if (number >= endPage) {
+            return new Page(number, new ArrayList<>(), null, null, true, false);
+        }
+
+        Map.Entry<Integer, Long> nearest = pageIndex.floorEntry(number);
+        if (nearest == null || number - nearest.getKey() >= indexInterval) {
+            extendIndex(nearest, number);
+            if (number >= endPage) {
+                return new Page(number, new ArrayList<>(), null, null, true, false);
+            }
+            nearest = pageIndex.floorEntry(number);
+        }
+
+        int skip = (number - nearest.getKey()) * pageSize;
+        List<Row> rows = fetch(fromSql, nearest.getValue(), pageSize + 1, skip);
+        return toPage(number, rows, true);
+    }
+
+    // Reads only the key column, recording the first key of every indexInterval-th page.
+    // Should be called again after bulk inserts or deletes shift the page boundaries.
+    public void rebuildIndex() throws SQLException {
+        pageIndex.clear();
+        endPage = Integer.MAX_VALUE;
+        scanKeys(1, null, Integer.MAX_VALUE);
+    }
+
+    // Reads keys onwards from the nearest indexed page, only as far as the indexed page that covers the
+    // requested one, so a jump costs the distance from the last known key rather than the whole table
+    private void extendIndex(Map.Entry<Integer, Long> nearest, int number) throws SQLException {
+        int target = (number - 1) / indexInterval * indexInterval + 1;
+        int from = nearest == null ? 1 : nearest.getKey();
+
+        // Every key up to the end of the page before the target, plus the first key of the target
+        long limit = (long) (target - from) * pageSize + 1;
+        scanKeys(from, nearest == null ? null : nearest.getValue(), (int) Math.min(limit, Integer.MAX_VALUE));
+    }
+
+    private void scanKeys(int fromPage, Long fromKey, int limit) throws SQLException {
+        try (
+                Connection connection = connections.create();
+                PreparedStatement statement = connection.prepareStatement(fromKey == null ? keysSql : keysFromSql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)
+        ) {
+            statement.setFetchSize(StreamingQuery.DEFAULT_FETCH_SIZE);
+            int parameter = 1;
+            if (fromKey != null) {
+                statement.setLong(parameter++, fromKey);
+            }
+            statement.setInt(parameter, limit);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                long position = 0;
+                long interval = (long) pageSize * indexInterval;
+
+                while (rs.next()) {
+                    if (position % interval == 0) {
+                        pageIndex.put(fromPage + (int) (position / pageSize), rs.getLong(1));
+                    }
+                    position++;
+                }
+
+                // Running out of keys before the limit means the end of the table has been found
+                if (position < limit) {
+                    endPage = fromPage + (int) ((position + pageSize - 1) / pageSize);
+                }
+            }
+        }
+    }
+
+    public int getIndexedPageCount() {
+        return pageIndex.size();
+    }
+
+    private Page toPage(int number, List<Row> rows, boolean hasPrevious) {
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows.remove(rows.size() - 1);
+        }
+
+        // Keep the known end of the table in step with what the pages themselves report
+        if (!hasNext) {
+            endPage = rows.isEmpty() ? number : number + 1;
+        } else if (number + 1 >= endPage) {
+            endPage = Integer.MAX_VALUE;
+        }
+        return index(new Page(number, rows, firstKey(rows), lastKey(rows), hasPrevious, hasNext));
+    }
+
+    private Page index(Page page) {
+        if (!page.isEmpty() && (page.getNumber() - 1) % indexInterval == 0) {
+            pageIndex.put(page.getNumber(), page.getFirstKey());
+        }
+        return page;
+    }
+
+    private Long firstKey(List<Row> rows) {
+        return rows.isEmpty() ? null : rows.get(0).getLong(keyColumn);
+    }
+
+    private Long lastKey(List<Row> rows) {
+        return rows.isEmpty() ? null : rows.get(rows.size() - 1).getLong(keyColumn);
+    }
+
+    private List<Row> fetch(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = connections.create(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            try (ResultSet rs = statement.executeQuery()) {
+                Row.Columns columns = Row.Columns.of(rs.getMetaData());
+                List<Row> rows = new ArrayList<>(pageSize + 1);
+                while (rs.next()) {
+                    rows.add(Row.read(rs, columns));
+                }
+                return rows;
+            }
+        }
+    }
+
+    // Table and column names cannot be bound as parameters, so only plain identifiers are accepted
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + name);
+        }
+        return name;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.lukehackett.ocp.chapter10.query;
+
+import java.util.List;
+
+public class Page {
+    private final int number;
+    private final List<Row> rows;
+    private final Long firstKey;
+    private final Long lastKey;
+    private final boolean hasPrevious;
+    private final boolean hasNext;
+
+    public Page(int number, List<Row> rows, Long firstKey, Long lastKey, boolean hasPrevious, boolean hasNext) {
+        this.number = number;
+        this.rows = rows;
+        this.firstKey = firstKey;
+        this.lastKey = lastKey;
+        this.hasPrevious = hasPrevious;
+        this.hasNext = hasNext;
+    }
+
+    public int getNumber() { return number; }
+    public List<Row> getRows() { return rows; }
+    // Both keys are null on an empty page
+    public Long getFirstKey() { return firstKey; }
+    public Long getLastKey() { return lastKey; }
+    public boolean hasPrevious() { return hasPrevious; }
+    public boolean hasNext() { return hasNext; }
+    public boolean isEmpty() { return rows.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return String.format("Page %d (keys %s..%s, previous: %s, next: %s) %s",
+                number, firstKey, lastKey, hasPrevious, hasNext, rows);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.github.lukehackett.ocp.chapter10.query;
+
+@FunctionalInterface
+public interface QueryListener {
+
+    void executed(String sql, Object[] parameters);
+
+}
@@ -0,0 +1,138 @@
+package com.github.lukehackett.ocp.chapter10.query;
+
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapperFactory;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class Row {
+    public static final RowMapperFactory<Row> MAPPER = metaData -> {
+        Columns columns = Columns.of(metaData);
+        return rs -> read(rs, columns);
+    };
+
+    private final Columns columns;
+    private final Object[] values;
+
+    public Row(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    public static Row read(ResultSet rs, Columns columns) throws SQLException {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getObject(i + 1);
+        }
+        return new Row(columns, values);
+    }
+
+    public Columns getColumns() { return columns; }
+    public int getColumnCount() { return values.length; }
+
+    // Column indexes start at 1, to match ResultSet
+    public Object getObject(int column) { return values[column - 1]; }
+    public Object getObject(String label) { return values[columns.indexOf(label) - 1]; }
+
+    public String getString(int column) { return toString(getObject(column)); }
+    public String getString(String label) { return toString(getObject(label)); }
+
+    public int getInt(int column) { return toNumber(getObject(column)).intValue(); }
+    public int getInt(String label) { return toNumber(getObject(label)).intValue(); }
+
+    public long getLong(int column) { return toNumber(getObject(column)).longValue(); }
+    public long getLong(String label) { return toNumber(getObject(label)).longValue(); }
+
+    public double getDouble(int column) { return toNumber(getObject(column)).doubleValue(); }
+    public double getDouble(String label) { return toNumber(getObject(label)).doubleValue(); }
+
+    public Timestamp getTimestamp(int column) { return (Timestamp) getObject(column); }
+    public Timestamp getTimestamp(String label) { return (Timestamp) getObject(label); }
+
+    private static String toString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    // Mirrors ResultSet, where reading a numeric SQL NULL returns 0
+    private static Number toNumber(Object value) {
+        return value == null ? 0 : (Number) value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Row)) return false;
+        Row row = (Row) o;
+        return columns.equals(row.columns) && Arrays.equals(values, row.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * columns.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{ ");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(columns.labels[i]).append(": ").append(values[i]);
+        }
+        return builder.append(" }").toString();
+    }
+
+    // Column labels are resolved once per result set and shared by every row read from it
+    public static class Columns {
+        private final String[] labels;
+        private final Map<String, Integer> indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        public Columns(String... labels) {
+            this.labels = labels.clone();
+            for (int i = 0; i < labels.length; i++) {
+                indexes.putIfAbsent(labels[i], i + 1);
+            }
+        }
+
+        public static Columns of(ResultSetMetaData metaData) throws SQLException {
+            String[] labels = new String[metaData.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+            }
+            return new Columns(labels);
+        }
+
+        public int size() {
+            return labels.length;
+        }
+
+        public String getLabel(int column) {
+            return labels[column - 1];
+        }
+
+        public int indexOf(String label) {
+            Integer index = indexes.get(label);
+            if (index == null) {
+                throw new IllegalArgumentException("Unknown column: " + label);
+            }
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Columns && Arrays.equals(labels, ((Columns) o).labels));
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(labels);
+        }
+    }
+
+}
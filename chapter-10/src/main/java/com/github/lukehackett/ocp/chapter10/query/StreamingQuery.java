@@ -0,0 +1,146 @@
+package com.github.lukehackett.ocp.chapter10.query;
+
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapper;
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapperFactory;
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class StreamingQuery {
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private final ConnectionFactory connections;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    public StreamingQuery(ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be at least 1, but was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    // The returned stream holds a connection until it is exhausted or closed, so
+    // callers should always consume it inside a try-with-resources block
+    public Stream<Row> stream(String sql, Object... parameters) throws SQLException {
+        return stream(Row.MAPPER, sql, parameters);
+    }
+
+    public <T> Stream<T> stream(RowMapperFactory<T> mapper, String sql, Object... parameters) throws SQLException {
+        mapper.prepare();
+        Cursor<T> cursor = new Cursor<>(connections.create(), mapper);
+
+        try {
+            cursor.open(sql, fetchSize, parameters);
+        } catch (SQLException | RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    private static class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection connection;
+        private final RowMapperFactory<T> mapperFactory;
+        private boolean lazy;
+        private PreparedStatement statement;
+        private ResultSet rs;
+        private RowMapper<T> mapper;
+        private boolean closed;
+
+        Cursor(Connection connection, RowMapperFactory<T> mapperFactory) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.mapperFactory = mapperFactory;
+        }
+
+        void open(String sql, int fetchSize, Object... parameters) throws SQLException {
+            // Embedded H2 materialises results unless lazy execution is enabled for the session
+            if ("H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                setLazyExecution(true);
+                lazy = true;
+            }
+
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            rs = statement.executeQuery();
+            mapper = mapperFactory.create(rs.getMetaData());
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+
+            try {
+                if (!rs.next()) {
+                    // Give the connection back as soon as the cursor is exhausted
+                    close();
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+
+            } catch (SQLException e) {
+                close();
+                throw new UncheckedSQLException(e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+
+            // The connection may go back to a pool, so the setting is reset even if closing the statement failed
+            try {
+                if (lazy) {
+                    setLazyExecution(false);
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        private void setLazyExecution(boolean enabled) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LAZY_QUERY_EXECUTION " + (enabled ? "TRUE" : "FALSE"));
+            }
+        }
+    }
+
+}
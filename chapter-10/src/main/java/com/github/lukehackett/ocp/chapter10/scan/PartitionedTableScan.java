@@ -0,0 +1,234 @@
+package com.github.lukehackett.ocp.chapter10.scan;
+
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapper;
+import com.github.lukehackett.ocp.chapter10.mapping.RowMapperFactory;
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+import com.github.lukehackett.ocp.chapter10.query.UncheckedSQLException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Splits a table into ranges of its numeric key, each of which is read on its own
+// pooled connection, so a parallel stream over the table scales with the cores available.
+// The number of partitions is capped so that they never need more connections than the pool holds
+public class PartitionedTableScan<T> {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final ConnectionFactory connections;
+    private final RowMapperFactory<T> mapper;
+    private final String boundsSql;
+    private final String rangeSql;
+    private long minPartitionSize = 10_000;
+    private int maxPartitions = 10;
+    private int fetchSize = 1_000;
+
+    public PartitionedTableScan(ConnectionFactory connections, String table, String keyColumn, RowMapperFactory<T> mapper) {
+        if (!IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(keyColumn).matches()) {
+            throw new IllegalArgumentException("Invalid table or column name: " + table + "." + keyColumn);
+        }
+        this.connections = connections;
+        this.mapper = mapper;
+        this.boundsSql = "SELECT MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + table;
+        this.rangeSql = "SELECT * FROM " + table + " WHERE " + keyColumn + " >= ? AND " + keyColumn + " <= ?";
+    }
+
+    public long getMinPartitionSize() { return minPartitionSize; }
+    public void setMinPartitionSize(long minPartitionSize) {
+        if (minPartitionSize < 1) {
+            throw new IllegalArgumentException("minPartitionSize must be at least 1, but was " + minPartitionSize);
+        }
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    public int getMaxPartitions() { return maxPartitions; }
+    public void setMaxPartitions(int maxPartitions) {
+        if (maxPartitions < 1) {
+            throw new IllegalArgumentException("maxPartitions must be at least 1, but was " + maxPartitions);
+        }
+        this.maxPartitions = maxPartitions;
+    }
+
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+
+    public Stream<T> stream() throws SQLException {
+        Set<Partition> open = ConcurrentHashMap.newKeySet();
+        Spliterator<T> spliterator = spliterator(open);
+
+        // Closing the stream releases any partition left part-read by a short-circuiting operation
+        return StreamSupport.stream(spliterator, true).onClose(() -> {
+            for (Partition partition : open) {
+                partition.close();
+            }
+        });
+    }
+
+    public Spliterator<T> spliterator() throws SQLException {
+        return spliterator(ConcurrentHashMap.newKeySet());
+    }
+
+    private Spliterator<T> spliterator(Set<Partition> open) throws SQLException {
+        mapper.prepare();
+
+        try (
+                Connection connection = connections.create();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(boundsSql)
+        ) {
+            rs.next();
+            long min = rs.getLong(1);
+            long max = rs.getLong(2);
+
+            // Both bounds are inclusive, so a key of Long.MAX_VALUE needs no upper bound past it
+            Partition partition = new Partition(min, max, open, new AtomicInteger(1));
+            if (rs.wasNull()) {
+                // An empty table produces an empty range
+                partition.exhausted = true;
+            }
+            return partition;
+        }
+    }
+
+    private class Partition implements Spliterator<T> {
+        private long from;
+        private final long to;
+        private final Set<Partition> open;
+        private final AtomicInteger partitions;
+
+        private Connection connection;
+        private PreparedStatement statement;
+        private ResultSet rs;
+        private RowMapper<T> rowMapper;
+        private boolean exhausted;
+
+        Partition(long from, long to, Set<Partition> open, AtomicInteger partitions) {
+            this.from = from;
+            this.to = to;
+            this.open = open;
+            this.partitions = partitions;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            // Once a partition has started reading, its range is fixed
+            if (rs != null || exhausted || estimateSize() / 2 < minPartitionSize) {
+                return null;
+            }
+            if (partitions.getAndUpdate(count -> count < maxPartitions ? count + 1 : count) >= maxPartitions) {
+                return null;
+            }
+
+            // The floor of the average, without overflowing when the range spans most of a long
+            long middle = (from & to) + ((from ^ to) >> 1);
+            Partition prefix = new Partition(from, middle, open, partitions);
+            from = middle + 1;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (exhausted) {
+                return false;
+            }
+
+            try {
+                if (rs == null) {
+                    open();
+                }
+                if (rs.next()) {
+                    action.accept(rowMapper.map(rs));
+                    return true;
+                }
+                close();
+                return false;
+
+            } catch (SQLException e) {
+                close();
+                throw new UncheckedSQLException(e);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (exhausted) {
+                return;
+            }
+
+            try {
+                if (rs == null) {
+                    open();
+                }
+                while (rs.next()) {
+                    action.accept(rowMapper.map(rs));
+                }
+            } catch (SQLException e) {
+                throw new UncheckedSQLException(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void open() throws SQLException {
+            open.add(this);
+            connection = connections.create();
+            statement = connection.prepareStatement(rangeSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, from);
+            statement.setLong(2, to);
+            rs = statement.executeQuery();
+            rowMapper = mapper.create(rs.getMetaData());
+        }
+
+        synchronized void close() {
+            if (exhausted) {
+                return;
+            }
+            exhausted = true;
+            open.remove(this);
+
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                try {
+                    if (connection != null) {
+                        connection.close();
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            if (exhausted) {
+                return 0;
+            }
+
+            // A negative span means the range is wider than a long can count
+            long span = to - from;
+            return span < 0 || span == Long.MAX_VALUE ? Long.MAX_VALUE : span + 1;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.NONNULL;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.lukehackett.ocp.chapter10.script;
+
+import java.util.concurrent.TimeUnit;
+
+public class ScriptResult {
+    private final long statements;
+    private final long batches;
+    private final long commits;
+    private final long elapsedNanos;
+
+    public ScriptResult(long statements, long batches, long commits, long elapsedNanos) {
+        this.statements = statements;
+        this.batches = batches;
+        this.commits = commits;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getStatements() { return statements; }
+    public long getBatches() { return batches; }
+    public long getCommits() { return commits; }
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+    @Override
+    public String toString() {
+        return String.format("Executed %,d statements (%,d batches, %,d commits) in %,dms",
+                statements, batches, commits, getElapsedMillis());
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.github.lukehackett.ocp.chapter10.script;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+public class SqlScriptReader implements Closeable {
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int lookahead = EOF - 1;
+
+    private final StringBuilder statement = new StringBuilder();
+    private long line = 1;
+    private long statementLine;
+
+    public SqlScriptReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Returns the next statement without its terminating semicolon, or null once the script is exhausted
+    public String nextStatement() throws IOException {
+        statement.setLength(0);
+        statementLine = 0;
+
+        int c;
+        while ((c = read()) != EOF) {
+            switch (c) {
+                case ';':
+                    if (hasContent()) {
+                        return statement.toString().trim();
+                    }
+                    statement.setLength(0);
+                    break;
+                case '\'':
+                case '"':
+                case '`':
+                    append(c);
+                    copyQuoted(c);
+                    break;
+                case '-':
+                    if (peek() == '-') {
+                        skipLineComment();
+                    } else {
+                        append(c);
+                    }
+                    break;
+                case '/':
+                    if (peek() == '*') {
+                        read();
+                        skipBlockComment();
+                    } else {
+                        append(c);
+                    }
+                    break;
+                default:
+                    append(c);
+            }
+        }
+
+        // The final statement in a script does not need to be terminated
+        return hasContent() ? statement.toString().trim() : null;
+    }
+
+    public long getStatementLine() {
+        return statementLine;
+    }
+
+    private void copyQuoted(int quote) throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            statement.append((char) c);
+
+            // A doubled quote is an escaped quote, which simply re-enters the quoted section
+            if (c == quote) {
+                return;
+            }
+        }
+        throw new IOException("Unterminated " + (char) quote + " quoted section starting on line " + statementLine);
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = read()) != EOF && c != '\n') {
+            // skip the comment
+        }
+        statement.append('\n');
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        int previous = 0;
+        while ((c = read()) != EOF) {
+            if (previous == '*' && c == '/') {
+                statement.append(' ');
+                return;
+            }
+            previous = c;
+        }
+        throw new IOException("Unterminated block comment on line " + line);
+    }
+
+    private void append(int c) {
+        if (statementLine == 0 && !Character.isWhitespace(c)) {
+            statementLine = line;
+        }
+        statement.append((char) c);
+    }
+
+    private boolean hasContent() {
+        return statementLine != 0;
+    }
+
+    private int peek() throws IOException {
+        if (lookahead == EOF - 1) {
+            lookahead = readFromBuffer();
+        }
+        return lookahead;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (lookahead != EOF - 1) {
+            c = lookahead;
+            lookahead = EOF - 1;
+        } else {
+            c = readFromBuffer();
+        }
+
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int readFromBuffer() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.github.lukehackett.ocp.chapter10.script;
+
+import com.github.lukehackett.ocp.chapter10.pool.ConnectionFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+public class SqlScriptRunner {
+    private final ConnectionFactory connections;
+    private int batchSize = 500;
+    private int commitInterval = 10_000;
+    private Consumer<ScriptResult> progressListener = result -> {};
+
+    public SqlScriptRunner(ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1, but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getCommitInterval() { return commitInterval; }
+    public void setCommitInterval(int commitInterval) {
+        if (commitInterval < 1) {
+            throw new IllegalArgumentException("commitInterval must be at least 1, but was " + commitInterval);
+        }
+        this.commitInterval = commitInterval;
+    }
+
+    // Invoked after every commit, which is frequent enough to report progress on very large scripts
+    public void setProgressListener(Consumer<ScriptResult> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public ScriptResult run(Reader script) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long statements = 0;
+        long batches = 0;
+        long commits = 0;
+
+        try (
+                SqlScriptReader reader = new SqlScriptReader(script);
+                Connection connection = connections.create();
+                Statement statement = connection.createStatement()
+        ) {
+            connection.setAutoCommit(false);
+
+            int pending = 0;
+            int uncommitted = 0;
+            long batchLine = 0;
+            String sql;
+
+            try {
+                while ((sql = reader.nextStatement()) != null) {
+                    statements++;
+
+                    if (isDml(sql)) {
+                        if (pending == 0) {
+                            batchLine = reader.getStatementLine();
+                        }
+                        statement.addBatch(sql);
+                        pending++;
+                    } else {
+                        // Statements must run in script order, so flush any queued DML first
+                        if (pending > 0) {
+                            executeBatch(statement, batchLine);
+                            batches++;
+                            pending = 0;
+                        }
+                        execute(statement, sql, reader.getStatementLine());
+                    }
+
+                    if (pending == batchSize) {
+                        executeBatch(statement, batchLine);
+                        batches++;
+                        pending = 0;
+                    }
+
+                    if (++uncommitted >= commitInterval && pending == 0) {
+                        connection.commit();
+                        commits++;
+                        uncommitted = 0;
+                        progressListener.accept(new ScriptResult(statements, batches, commits, System.nanoTime() - start));
+                    }
+                }
+
+                if (pending > 0) {
+                    executeBatch(statement, batchLine);
+                    batches++;
+                }
+                connection.commit();
+                commits++;
+
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        return new ScriptResult(statements, batches, commits, System.nanoTime() - start);
+    }
+
+    private static void execute(Statement statement, String sql, long line) throws SQLException {
+        try {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new SQLException("Statement on line " + line + " failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+    }
+
+    private static void executeBatch(Statement statement, long line) throws SQLException {
+        try {
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new SQLException("Batch starting on line " + line + " failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+    }
+
+    private static boolean isDml(String sql) {
+        return startsWithKeyword(sql, "INSERT")
+                || startsWithKeyword(sql, "UPDATE")
+                || startsWithKeyword(sql, "DELETE")
+                || startsWithKeyword(sql, "MERGE");
+    }
+
+    private static boolean startsWithKeyword(String sql, String keyword) {
+        return sql.regionMatches(true, 0, keyword, 0, keyword.length())
+                && (sql.length() == keyword.length() || !Character.isLetterOrDigit(sql.charAt(keyword.length())));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.lukehackett.ocp.chapter8;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+// Generates test files and times copies of them, for the comparisons between the copy implementations
+public final class CopyTimings {
+    private static final String[] NAMES = { "Peter Penguin", "Chester Cat", "Zelda Zebra", "Ellie Elephant" };
+
+    private CopyTimings() {}
+
+    // Random bytes, so that nothing along the way can compress or shortcut the data
+    public static void createBinaryFile(File file, long size) throws IOException {
+        byte[] block = new byte[64 * 1024];
+        new Random(42).nextBytes(block);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            for (long written = 0; written < size; written += block.length) {
+                raf.write(block, 0, (int) Math.min(block.length, size - written));
+            }
+        }
+    }
+
+    // Lines in the style of data.txt, containing the names that HighLevelReaderWriter replaces
+    public static void createTextFile(File file, long size) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            long written = 0;
+            for (int i = 0; written < size; i++) {
+                String line = "Animal Names " + i + " - " + NAMES[i % NAMES.length];
+                writer.write(line);
+                writer.newLine();
+                written += line.length() + 1;
+            }
+        }
+    }
+
+    // Prints the time and throughput of a copy made after one warm up copy, and returns the size of the copy
+    public static long time(String label, IOCopyBaseClass copier, File source) {
+        File destination = new File(source.getParentFile(), source.getName() + ".copy");
+        try {
+            // The first copy warms up the JIT and the page cache
+            copier.performCopy(source, destination);
+
+            long start = System.nanoTime();
+            copier.performCopy(source, destination);
+            long elapsed = System.nanoTime() - start;
+
+            double megabytes = source.length() / (1024.0 * 1024.0);
+            System.out.printf("%-22s %,8.1f MB in %,6dms (%,.1f MB/sec)%n",
+                    label, megabytes, elapsed / 1_000_000, megabytes / (elapsed / 1_000_000_000.0));
+            return destination.length();
+        } finally {
+            destination.delete();
+        }
+    }
+
+}
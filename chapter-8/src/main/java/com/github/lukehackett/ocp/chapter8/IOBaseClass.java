@@ -1,14 +1,78 @@
 package com.github.lukehackett.ocp.chapter8;
 
+import com.github.lukehackett.ocp.chapter8.compress.Compression;
+
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
 
 public abstract class IOBaseClass {
     protected final File resourceDirectory;
     protected final String resourceDirectoryPath;
+    protected Compression compression = Compression.NONE;
+    protected Compression inputCompression = Compression.NONE;
+    protected int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
     public IOBaseClass() {
         resourceDirectoryPath = getClass().getClassLoader().getResource("").getFile();
         resourceDirectory = new File(resourceDirectoryPath);
     }
 
+    // Applies to the destination only, so a copy with the default of NONE stays byte for byte
+    public Compression getCompression() { return compression; }
+    public void setCompression(Compression compression) {
+        checkCompressionSupported(compression);
+        this.compression = compression;
+    }
+
+    // Applies to the source only; nothing is decompressed unless asked for
+    public Compression getInputCompression() { return inputCompression; }
+    public void setInputCompression(Compression inputCompression) {
+        checkCompressionSupported(inputCompression);
+        this.inputCompression = inputCompression;
+    }
+
+    public int getCompressionLevel() { return compressionLevel; }
+    public void setCompressionLevel(int compressionLevel) {
+        if ((compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    // Implementations that never go through openInputStream/openOutputStream reject any compression
+    protected boolean supportsCompression() {
+        return true;
+    }
+
+    private void checkCompressionSupported(Compression compression) {
+        if (compression != Compression.NONE && !supportsCompression()) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support compression");
+        }
+    }
+
+    protected InputStream openInputStream(File source) throws IOException {
+        InputStream in = new FileInputStream(source);
+        try {
+            return inputCompression.wrap(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    protected OutputStream openOutputStream(File destination) throws IOException {
+        OutputStream out = new FileOutputStream(destination);
+        try {
+            return compression.wrap(out, compressionLevel);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
 }
@@ -0,0 +1,61 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.IOException;
+
+// The binary layout of an Animal: name and type as length-prefixed UTF-8, and age as a zig-zag varint.
+// enclosureNumber is transient, so is never written, and reads back as 0 just as Java serialization leaves it.
+public final class AnimalCodec {
+    public static final int MAGIC = 0x414E4D4C; // "ANML"
+    public static final int VERSION = 1;
+
+    public static final RecordCodec<Animal> RECORDS = new RecordCodec<Animal>() {
+        @Override
+        public int getSchemaVersion() {
+            return VERSION;
+        }
+
+        @Override
+        public void write(RecordOutput out, Animal animal) throws IOException {
+            AnimalCodec.write(out, animal);
+        }
+
+        @Override
+        public Animal read(RecordInput in) throws IOException {
+            return AnimalCodec.read(in);
+        }
+    };
+
+    private AnimalCodec() {}
+
+    public static void writeHeader(RecordOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    public static void readHeader(RecordInput in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException(String.format("Not an animal record file, magic was 0x%08X", magic));
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported animal record version " + version);
+        }
+    }
+
+    public static void write(RecordOutput out, Animal animal) throws IOException {
+        out.writeString(animal.getName());
+        out.writeVarInt(animal.getAge());
+        out.writeString(animal.getType());
+    }
+
+    public static Animal read(RecordInput in) throws IOException {
+        String name = in.readString();
+        int age = in.readVarInt();
+        String type = in.readString();
+        return new Animal(name, age, type, 0);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.IOBaseClass;
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream;
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Writes and reads the same animals with Java serialization and with the binary codec, comparing size and time
+public class AnimalCodecBenchmark extends IOBaseClass {
+    private static final String[] TYPES = { "TIGER", "PENGUIN", "ZEBRA", "ELEPHANT" };
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        Animal[] animals = new Animal[count];
+        for (int i = 0; i < count; i++) {
+            animals[i] = new Animal("Animal " + i, i % 30, TYPES[i % TYPES.length], i % 50);
+        }
+
+        AnimalCodecBenchmark benchmark = new AnimalCodecBenchmark();
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("Round " + round);
+            benchmark.serialization(animals);
+            benchmark.codec(animals);
+        }
+    }
+
+    public void serialization(Animal[] animals) throws IOException {
+        HighLevelObjectStream hlos = new HighLevelObjectStream();
+        File file = new File(resourceDirectory, "benchmark.ser");
+
+        long start = System.nanoTime();
+        hlos.serialize(file.getName(), animals);
+        long written = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int read = 0;
+        try (AnimalSource source = new LegacyAnimalReader(file.toPath())) {
+            while (source.read() != null) {
+                read++;
+            }
+        }
+        print("Serialization", read, file.length(), written, System.nanoTime() - start);
+        file.delete();
+    }
+
+    public void codec(Animal[] animals) throws IOException {
+        Path file = new File(resourceDirectory, "benchmark.anml").toPath();
+
+        long start = System.nanoTime();
+        try (AnimalWriter writer = new AnimalWriter(file)) {
+            for (Animal animal : animals) {
+                writer.write(animal);
+            }
+        }
+        long written = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int read = 0;
+        try (AnimalSource source = AnimalReader.open(file)) {
+            while (source.read() != null) {
+                read++;
+            }
+        }
+        print("Binary codec", read, file.toFile().length(), written, System.nanoTime() - start);
+        file.toFile().delete();
+    }
+
+    private static void print(String label, int count, long bytes, long writeNanos, long readNanos) {
+        System.out.printf("  %-14s %,d animals, %,d bytes (%.1f bytes/animal), write %,dms, read %,dms%n",
+                label, count, bytes, (double) bytes / count, writeNanos / 1_000_000, readNanos / 1_000_000);
+    }
+
+}
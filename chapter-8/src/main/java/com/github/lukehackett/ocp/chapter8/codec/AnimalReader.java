@@ -0,0 +1,60 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.compress.Compression;
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class AnimalReader implements AnimalSource {
+    // Every Java serialization stream starts with these two bytes
+    private static final int JAVA_STREAM_MAGIC = 0xACED;
+
+    private final RecordInput in;
+
+    public AnimalReader(Path file) throws IOException {
+        this(new RecordInput(FileChannel.open(file, StandardOpenOption.READ)));
+    }
+
+    public AnimalReader(RecordInput in) throws IOException {
+        this.in = in;
+        AnimalCodec.readHeader(in);
+    }
+
+    // Opens either format, so files written by HighLevelObjectStream.serialize can still be read
+    public static AnimalSource open(Path file) throws IOException {
+        byte[] magic = new byte[2];
+        int read = 0;
+        try (InputStream in = Compression.detect(Files.newInputStream(file))) {
+            int n;
+            while (read < magic.length && (n = in.read(magic, read, magic.length - read)) != -1) {
+                read += n;
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(magic);
+        if (read == 2 && (header.getShort(0) & 0xFFFF) == JAVA_STREAM_MAGIC) {
+            return new LegacyAnimalReader(file);
+        }
+        return new AnimalReader(file);
+    }
+
+    @Override
+    public Animal read() throws IOException {
+        if (in.isAtEnd()) {
+            return null;
+        }
+        return AnimalCodec.read(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface AnimalSource extends Closeable {
+
+    // Returns null once every animal has been read
+    Animal read() throws IOException;
+
+}
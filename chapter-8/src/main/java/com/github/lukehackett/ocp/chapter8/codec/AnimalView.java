@@ -0,0 +1,129 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// A flyweight over one animal record in a mapped file. Moving it to another record allocates nothing, and the
+// numeric and comparison accessors read straight from the mapping; only getName, getType and toAnimal allocate.
+public class AnimalView {
+    private ByteBuffer buffer;
+    private int index = -1;
+    private int nameOffset;
+    private int nameLength;
+    private int age;
+    private int typeOffset;
+    private int typeLength;
+
+    // Field boundaries are found once per move, as every field after the name depends on the name's length
+    AnimalView moveTo(ByteBuffer buffer, int position, int index) {
+        this.buffer = buffer;
+        this.index = index;
+
+        int at = position;
+        long length = readVarInt(buffer, at);
+        at += (int) (length >>> 32);
+        nameLength = (int) length - 1;
+        nameOffset = at;
+        at += Math.max(0, nameLength);
+
+        long rawAge = readVarInt(buffer, at);
+        at += (int) (rawAge >>> 32);
+        int raw = (int) rawAge;
+        age = (raw >>> 1) ^ -(raw & 1);
+
+        length = readVarInt(buffer, at);
+        at += (int) (length >>> 32);
+        typeLength = (int) length - 1;
+        typeOffset = at;
+        return this;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public String getName() {
+        return string(nameOffset, nameLength);
+    }
+
+    public String getType() {
+        return string(typeOffset, typeLength);
+    }
+
+    public boolean nameEquals(String value) {
+        return asciiEquals(nameOffset, nameLength, value);
+    }
+
+    public boolean typeEquals(String value) {
+        return asciiEquals(typeOffset, typeLength, value);
+    }
+
+    public Animal toAnimal() {
+        return new Animal(getName(), age, getType(), 0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{ index: %s, name: %s, age: %s, type: %s }", index, getName(), age, getType());
+    }
+
+    private String string(int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Compares against the encoded bytes, which for ASCII values needs no decoding at all
+    private boolean asciiEquals(int offset, int length, String value) {
+        if (length < 0 || value == null) {
+            return length < 0 && value == null;
+        }
+        if (length != value.length()) {
+            return !isAscii(value) && value.equals(string(offset, length));
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return value.equals(string(offset, length));
+            }
+            if (buffer.get(offset + i) != (byte) c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the value in the low 32 bits and the number of bytes it took in the high 32 bits
+    private static long readVarInt(ByteBuffer buffer, int position) {
+        int value = 0;
+        int bytes = 0;
+        int b;
+        do {
+            b = buffer.get(position + bytes);
+            value |= (b & 0x7F) << (7 * bytes);
+            bytes++;
+        } while ((b & 0x80) != 0 && bytes < 5);
+        return ((long) bytes << 32) | (value & 0xFFFFFFFFL);
+    }
+
+}
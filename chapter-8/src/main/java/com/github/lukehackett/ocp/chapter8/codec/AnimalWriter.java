@@ -0,0 +1,42 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class AnimalWriter implements Closeable {
+    private final RecordOutput out;
+    private long count;
+
+    public AnimalWriter(Path file) throws IOException {
+        this(new RecordOutput(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)));
+    }
+
+    public AnimalWriter(RecordOutput out) throws IOException {
+        this.out = out;
+        AnimalCodec.writeHeader(out);
+    }
+
+    public void write(Animal animal) throws IOException {
+        AnimalCodec.write(out, animal);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getBytesWritten() {
+        return out.getBytesWritten();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
@@ -0,0 +1,227 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Random access to a file written by IndexedRecordWriter. Every read is a positional read on the channel,
+// so a single instance can be shared by many threads, including the parallel stream.
+public class IndexedRecordFile<T> implements Iterable<T>, Closeable {
+    static final int MAGIC = 0x52494458; // "RIDX"
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    // The whole index is read into a single buffer, so its size in bytes has to fit in an int
+    static final int MAX_RECORDS = Integer.MAX_VALUE / 8;
+
+    // Range reads fetch at most this many bytes at a time, however many records that covers
+    private static final int RANGE_BLOCK_SIZE = 1024 * 1024;
+
+    private final RecordCodec<T> codec;
+    private final FileChannel channel;
+    private final int schemaVersion;
+    private final long[] offsets;
+
+    public IndexedRecordFile(Path file, RecordCodec<T> codec) throws IOException {
+        this.codec = codec;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = read(0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an indexed record file, or it was not closed properly: " + file);
+            }
+            short formatVersion = header.getShort();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported record file format version " + formatVersion);
+            }
+            schemaVersion = header.getShort();
+            if (schemaVersion != codec.getSchemaVersion()) {
+                throw new IOException("File has schema version " + schemaVersion + ", but the codec expects " + codec.getSchemaVersion());
+            }
+            long count = header.getLong();
+            long indexOffset = header.getLong();
+            if (count < 0 || count > MAX_RECORDS) {
+                throw new IOException("Too many records to index: " + count);
+            }
+
+            // One extra offset marks the end of the last record, so every record's length is a subtraction
+            offsets = new long[(int) count + 1];
+            ByteBuffer index = read(indexOffset, (int) count * 8);
+            index.asLongBuffer().get(offsets, 0, (int) count);
+            offsets[(int) count] = indexOffset;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public T get(int index) throws IOException {
+        checkIndex(index, size());
+        return codec.read(new RecordInput(read(offsets[index], (int) (offsets[index + 1] - offsets[index]))));
+    }
+
+    // Reads records [from, to) with as few reads as possible
+    public List<T> range(int from, int to) throws IOException {
+        List<T> records = new ArrayList<>(Math.max(0, to - from));
+        forEachInRange(from, to, records::add);
+        return records;
+    }
+
+    public void forEachInRange(int from, int to, Consumer<? super T> action) throws IOException {
+        checkIndex(from, size() + 1);
+        checkIndex(to, size() + 1);
+
+        int next = from;
+        while (next < to) {
+            // Take as many whole records as fit in a block, but always at least one
+            int end = next + 1;
+            while (end < to && offsets[end + 1] - offsets[next] <= RANGE_BLOCK_SIZE) {
+                end++;
+            }
+
+            RecordInput in = new RecordInput(read(offsets[next], (int) (offsets[end] - offsets[next])));
+            for (int i = next; i < end; i++) {
+                action.accept(codec.read(in));
+            }
+            next = end;
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final List<T> block = new ArrayList<>();
+            private int blockStart;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (next - blockStart >= block.size()) {
+                    block.clear();
+                    blockStart = next;
+                    try {
+                        forEachInRange(next, Math.min(size(), next + 1024), block::add);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return block.get(next++ - blockStart);
+            }
+        };
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(new RangeSpliterator(0, size()), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(new RangeSpliterator(0, size()), true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Record file truncated at " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // Splits by record index, which the offset index makes free, so each half reads its own part of the file
+    private class RangeSpliterator implements Spliterator<T> {
+        private int from;
+        private final int to;
+
+        RangeSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            try {
+                action.accept(get(from++));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            try {
+                forEachInRange(from, to, action);
+                from = to;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle - from < 1024) {
+                return null;
+            }
+            Spliterator<T> prefix = new RangeSpliterator(from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+
+}
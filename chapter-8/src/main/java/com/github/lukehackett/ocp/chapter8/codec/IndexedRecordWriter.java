@@ -0,0 +1,89 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Writes an indexed record file: a fixed size header, the records, and then the offset of every record.
+// The header is written last, so a file that was never closed is rejected rather than read short.
+public class IndexedRecordWriter<T> implements Closeable {
+    private final RecordCodec<T> codec;
+    private final FileChannel channel;
+    private final RecordOutput out;
+    private long[] offsets = new long[1024];
+    private int count;
+    private boolean failed;
+    private boolean closed;
+
+    public IndexedRecordWriter(Path file, RecordCodec<T> codec) throws IOException {
+        this.codec = codec;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new RecordOutput(channel);
+
+        // Left zeroed until close, so the magic number is only present once the file is complete
+        out.writeBytes(new byte[IndexedRecordFile.HEADER_SIZE], 0, IndexedRecordFile.HEADER_SIZE);
+    }
+
+    public void write(T record) throws IOException {
+        if (failed) {
+            throw new IOException("An earlier write failed, so the file cannot be completed");
+        }
+        if (count == IndexedRecordFile.MAX_RECORDS) {
+            throw new IOException("Too many records to index: " + count);
+        }
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, (int) Math.min((long) count * 2, IndexedRecordFile.MAX_RECORDS));
+        }
+
+        // A record only counts once it has been written whole; a partial one leaves the file unfinished
+        long offset = out.getBytesWritten();
+        try {
+            codec.write(out, record);
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+        offsets[count++] = offset;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (failed) {
+                return;
+            }
+            long indexOffset = out.getBytesWritten();
+            for (int i = 0; i < count; i++) {
+                out.writeLong(offsets[i]);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(IndexedRecordFile.HEADER_SIZE);
+            header.putInt(IndexedRecordFile.MAGIC);
+            header.putShort(IndexedRecordFile.FORMAT_VERSION);
+            header.putShort((short) codec.getSchemaVersion());
+            header.putLong(count);
+            header.putLong(indexOffset);
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+}
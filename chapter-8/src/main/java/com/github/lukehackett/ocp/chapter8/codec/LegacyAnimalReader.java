@@ -0,0 +1,44 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.compress.Compression;
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Reads animals.data files written with Java serialization, one object at a time, whether gzipped or not
+public class LegacyAnimalReader implements AnimalSource {
+    private final ObjectInputStream in;
+
+    public LegacyAnimalReader(Path file) throws IOException {
+        this.in = new ObjectInputStream(new BufferedInputStream(Compression.detect(Files.newInputStream(file))));
+    }
+
+    @Override
+    public Animal read() throws IOException {
+        while (true) {
+            Object obj;
+            try {
+                obj = in.readObject();
+            } catch (EOFException eof) {
+                return null;
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unreadable object in animal file", e);
+            }
+
+            if (obj instanceof Animal) {
+                return (Animal) obj;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Maps an indexed animal record file into memory, and exposes its records as AnimalView flyweights.
+// Opening only maps the file, so costs the same whatever its size. A single mapping cannot exceed 2GB, so
+// larger files are mapped as several segments, each ending on a record boundary so no record is split.
+public class MappedAnimalStore implements Closeable {
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final int size;
+    private final MappedByteBuffer index;
+    private final long indexOffset;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<Long> segmentBases = new ArrayList<>();
+    private int[] segmentFirstRecords;
+
+    public MappedAnimalStore(Path file) throws IOException {
+        this(file, MAX_SEGMENT_SIZE);
+    }
+
+    // A smaller maximum segment size is only useful to exercise the segmenting without a 2GB file
+    MappedAnimalStore(Path file, long maxSegmentSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            if (channel.size() < IndexedRecordFile.HEADER_SIZE) {
+                throw new IOException("Record file is too short to hold a header: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, IndexedRecordFile.HEADER_SIZE);
+            if (header.getInt() != IndexedRecordFile.MAGIC) {
+                throw new IOException("Not an indexed record file, or it was not closed properly: " + file);
+            }
+            if (header.getShort() != IndexedRecordFile.FORMAT_VERSION) {
+                throw new IOException("Unsupported record file format version");
+            }
+            short schemaVersion = header.getShort();
+            if (schemaVersion != AnimalCodec.VERSION) {
+                throw new IOException("File has schema version " + schemaVersion + ", but animals are version " + AnimalCodec.VERSION);
+            }
+            long count = header.getLong();
+            indexOffset = header.getLong();
+            if (count < 0 || count > IndexedRecordFile.MAX_RECORDS) {
+                throw new IOException("Too many records to map the index: " + count);
+            }
+            // A corrupt header must not map outside the file, and the index follows the records
+            if (indexOffset < IndexedRecordFile.HEADER_SIZE || indexOffset > channel.size() - count * 8) {
+                throw new IOException("Index of " + count + " records at " + indexOffset + " lies outside the file of " + channel.size() + " bytes");
+            }
+
+            size = (int) count;
+            index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, count * 8);
+            mapSegments(Math.min(maxSegmentSize, MAX_SEGMENT_SIZE));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void mapSegments(long maxSegmentSize) throws IOException {
+        List<Integer> firstRecords = new ArrayList<>();
+        int first = 0;
+
+        while (first < size) {
+            long base = offset(first);
+
+            // The last record that still ends within the segment, found by binary search over the offset index
+            int low = first + 1;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (offset(middle) - base <= maxSegmentSize) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            int end = low;
+
+            long length = offset(end) - base;
+            if (length > MAX_SEGMENT_SIZE) {
+                throw new IOException("Record " + first + " is too large to map");
+            }
+
+            segments.add(channel.map(FileChannel.MapMode.READ_ONLY, base, length));
+            segmentBases.add(base);
+            firstRecords.add(first);
+            first = end;
+        }
+
+        segmentFirstRecords = firstRecords.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // The offset of the given record, where the record after the last one starts at the index
+    private long offset(int record) {
+        return record == size ? indexOffset : index.getLong(record * 8);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public AnimalView get(int record) {
+        return get(record, new AnimalView());
+    }
+
+    // Moves the given view to the record, so a scan can reuse one view throughout
+    public AnimalView get(int record, AnimalView view) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Index: " + record + ", Size: " + size);
+        }
+
+        int segment = segmentOf(record);
+        long position = offset(record) - segmentBases.get(segment);
+        return view.moveTo(segments.get(segment), (int) position, record);
+    }
+
+    // The view passed to the action is reused for every record, so must not be kept
+    public void forEach(Consumer<? super AnimalView> action) {
+        AnimalView view = new AnimalView();
+        for (int record = 0; record < size; record++) {
+            action.accept(get(record, view));
+        }
+    }
+
+    public int count(Predicate<? super AnimalView> filter) {
+        AnimalView view = new AnimalView();
+        int count = 0;
+        for (int record = 0; record < size; record++) {
+            if (filter.test(get(record, view))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int segmentOf(int record) {
+        int low = 0;
+        int high = segmentFirstRecords.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segmentFirstRecords[middle] <= record) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    // The mappings themselves are released when they are garbage collected, as Java 8 offers no way to unmap
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import com.github.lukehackett.ocp.chapter8.IOBaseClass;
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelObjectStream.Animal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Filters the same file by materialising every Animal, and by scanning flyweight views over a mapping
+public class MappedAnimalStoreBenchmark extends IOBaseClass {
+    private static final String[] TYPES = { "TIGER", "PENGUIN", "ZEBRA", "ELEPHANT" };
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 3_000_000;
+
+        MappedAnimalStoreBenchmark benchmark = new MappedAnimalStoreBenchmark();
+        Path file = new File(benchmark.resourceDirectory, "animals.mapped").toPath();
+        try {
+            try (IndexedRecordWriter<Animal> writer = new IndexedRecordWriter<>(file, AnimalCodec.RECORDS)) {
+                for (int i = 0; i < count; i++) {
+                    writer.write(new Animal("Animal " + i, i % 30, TYPES[i % TYPES.length], 0));
+                }
+            }
+
+            for (int round = 1; round <= 3; round++) {
+                System.out.println("Round " + round);
+                benchmark.materialised(file);
+                benchmark.mapped(file);
+            }
+        } finally {
+            file.toFile().delete();
+        }
+    }
+
+    public void materialised(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (IndexedRecordFile<Animal> records = new IndexedRecordFile<>(file, AnimalCodec.RECORDS)) {
+            long opened = System.nanoTime();
+            long matches = records.stream().filter(animal -> "TIGER".equals(animal.getType()) && animal.getAge() > 20).count();
+            print("Materialised", matches, opened - start, System.nanoTime() - opened);
+        }
+    }
+
+    public void mapped(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (MappedAnimalStore store = new MappedAnimalStore(file)) {
+            long opened = System.nanoTime();
+            long matches = store.count(animal -> animal.typeEquals("TIGER") && animal.getAge() > 20);
+            print("Mapped views", matches, opened - start, System.nanoTime() - opened);
+        }
+    }
+
+    private static void print(String label, long matches, long openNanos, long scanNanos) {
+        System.out.printf("  %-13s %,d matches, open %,dms, scan %,dms%n", label, matches, openNanos / 1_000_000, scanNanos / 1_000_000);
+    }
+
+}
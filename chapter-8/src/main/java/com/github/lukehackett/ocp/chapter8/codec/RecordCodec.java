@@ -0,0 +1,14 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import java.io.IOException;
+
+public interface RecordCodec<T> {
+
+    // Stored in a record file's header, so a file is never decoded with an incompatible layout
+    int getSchemaVersion();
+
+    void write(RecordOutput out, T record) throws IOException;
+
+    T read(RecordInput in) throws IOException;
+
+}
@@ -0,0 +1,155 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Reads what RecordOutput writes, refilling a reusable buffer from a channel as needed.
+// Without a channel, values are read straight from the given buffer.
+public class RecordInput implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private char[] chars = new char[64];
+    private boolean endOfChannel;
+
+    public RecordInput(ReadableByteChannel channel) {
+        this(channel, (ByteBuffer) ByteBuffer.allocate(DEFAULT_BUFFER_SIZE).flip());
+    }
+
+    public RecordInput(ByteBuffer buffer) {
+        this(null, buffer);
+    }
+
+    // The buffer is expected to be ready for reading, and may already hold data
+    public RecordInput(ReadableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.endOfChannel = channel == null;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    // True once every byte has been read, which is the only place a record may cleanly end
+    public boolean isAtEnd() throws IOException {
+        return !fill(1);
+    }
+
+    public int readByte() throws IOException {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+
+    public int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    public int readVarInt() throws IOException {
+        int raw = readUnsignedVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public int readUnsignedVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public String readString() throws IOException {
+        int length = readUnsignedVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+
+        if (!fill(length)) {
+            if (length > buffer.capacity()) {
+                byte[] bytes = new byte[length];
+                readBytes(bytes, 0, length);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            throw new EOFException("String truncated, expected " + length + " bytes");
+        }
+
+        // ASCII is decoded directly, anything else falls back to the standard decoder
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        int start = buffer.position();
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            if (b < 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            chars[i] = (char) b;
+        }
+        buffer.position(start + length);
+        return new String(chars, 0, length);
+    }
+
+    public void readBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            require(1);
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void require(int bytes) throws IOException {
+        if (!fill(bytes)) {
+            throw new EOFException();
+        }
+    }
+
+    // Tops the buffer up until it holds at least the given number of bytes, or returns false if it cannot
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (endOfChannel || bytes > buffer.capacity()) {
+            return false;
+        }
+
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    endOfChannel = true;
+                    break;
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+        return buffer.remaining() >= bytes;
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.github.lukehackett.ocp.chapter8.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Writes varints and length-prefixed UTF-8 strings into a reusable buffer, draining it to a channel when full.
+// Without a channel, values are written straight into the given buffer, which must then be large enough.
+public class RecordOutput implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long bytesWritten;
+
+    public RecordOutput(WritableByteChannel channel) {
+        this(channel, ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+    }
+
+    public RecordOutput(ByteBuffer buffer) {
+        this(null, buffer);
+    }
+
+    public RecordOutput(WritableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    // Zig-zag encoded, so small negative numbers are as compact as small positive ones
+    public void writeVarInt(int value) throws IOException {
+        writeUnsignedVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeUnsignedVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    // The length is written as length + 1, leaving zero to mean null
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeUnsignedVarInt(0);
+            return;
+        }
+
+        int length = utf8Length(value);
+        writeUnsignedVarInt(length + 1);
+
+        if (buffer.remaining() < length && channel != null && length <= buffer.capacity()) {
+            drain();
+        }
+        if (buffer.remaining() < length) {
+            // Longer than the whole buffer, so not worth the trouble of encoding in pieces
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeBytes(bytes, 0, bytes.length);
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                int codePoint = pairAt(value, i);
+                if (codePoint < 0) {
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                    i++;
+                }
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    public void flush() throws IOException {
+        if (channel != null) {
+            drain();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (channel == null) {
+            throw new BufferOverflowException();
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (pairAt(value, i) < 0) {
+                    length++;
+                } else {
+                    length += 4;
+                    i++;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // Unpaired surrogates are written as '?', as String.getBytes would
+    private static int pairAt(String value, int index) {
+        char high = value.charAt(index);
+        if (Character.isHighSurrogate(high) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            return Character.toCodePoint(high, value.charAt(index + 1));
+        }
+        return -1;
+    }
+
+}
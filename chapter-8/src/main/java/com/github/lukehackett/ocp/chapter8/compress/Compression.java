@@ -0,0 +1,112 @@
+package com.github.lukehackett.ocp.chapter8.compress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public enum Compression {
+
+    NONE {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) {
+            return out;
+        }
+
+        @Override
+        public InputStream wrap(InputStream in) {
+            return in;
+        }
+    },
+
+    // zlib framed deflate, the smallest framing of the three
+    DEFLATE {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) {
+            return new DeflaterOutputStream(out, new Deflater(level), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public InputStream wrap(InputStream in) {
+            return new InflaterInputStream(in);
+        }
+    },
+
+    GZIP {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new LevelledGzipOutputStream(out, level);
+        }
+
+        @Override
+        public InputStream wrap(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+
+    // Compresses blocks on every core, writing each as its own gzip member, which any gzip reader accepts
+    PARALLEL_GZIP {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) {
+            return new ParallelGzipOutputStream(out, level);
+        }
+
+        @Override
+        public InputStream wrap(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    };
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    public abstract OutputStream wrap(OutputStream out, int level) throws IOException;
+
+    public abstract InputStream wrap(InputStream in) throws IOException;
+
+    public OutputStream wrap(OutputStream out) throws IOException {
+        return wrap(out, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    // Looks at the first bytes of the stream, so gzip and uncompressed input can be read alike. Deflate has no
+    // magic number that plain text could not also start with, so must be read by asking for it explicitly.
+    public static InputStream detect(InputStream in) throws IOException {
+        // Pushed back rather than buffered, so uncompressed input is read exactly as it would have been
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        byte[] magic = new byte[2];
+        int read = 0;
+        int n;
+        while (read < magic.length && (n = pushback.read(magic, read, magic.length - read)) != -1) {
+            read += n;
+        }
+        pushback.unread(magic, 0, read);
+
+        if (read == 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            return GZIP.wrap(pushback);
+        }
+        return pushback;
+    }
+
+    // GZIPOutputStream only takes the default level, but its Deflater may be changed before anything is written
+    static class LevelledGzipOutputStream extends GZIPOutputStream {
+
+        LevelledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.lukehackett.ocp.chapter8.compress;
+
+import com.github.lukehackett.ocp.chapter8.CopyTimings;
+import com.github.lukehackett.ocp.chapter8.IOBaseClass;
+import com.github.lukehackett.ocp.chapter8.streams.HighLevelStream;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+
+// Copies a generated text file with each compression and level, reporting the ratio and time of each
+public class CompressionComparison extends IOBaseClass {
+    private static final int[] LEVELS = { Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION };
+
+    public static void main(String[] args) throws IOException {
+        long megabytes = args.length > 0 ? Long.parseLong(args[0]) : 64;
+
+        CompressionComparison comparison = new CompressionComparison();
+        File source = new File(comparison.resourceDirectory, "compression.txt");
+        File destination = new File(comparison.resourceDirectory, "compression.out");
+        CopyTimings.createTextFile(source, megabytes * 1024 * 1024);
+
+        try {
+            for (Compression compression : Compression.values()) {
+                for (int level : compression == Compression.NONE ? new int[] { Deflater.DEFAULT_COMPRESSION } : LEVELS) {
+                    comparison.time(compression, level, source, destination);
+                }
+            }
+        } finally {
+            source.delete();
+            destination.delete();
+        }
+    }
+
+    public void time(Compression compression, int level, File source, File destination) {
+        HighLevelStream copier = new HighLevelStream();
+        copier.setCompression(compression);
+        copier.setCompressionLevel(level);
+
+        long start = System.nanoTime();
+        copier.performCopy(source, destination);
+        long compressNanos = System.nanoTime() - start;
+
+        long restoredLength = 0;
+        start = System.nanoTime();
+        try (InputStream in = compression.wrap(new FileInputStream(destination))) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                restoredLength += read;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        long decompressNanos = System.nanoTime() - start;
+
+        System.out.printf("%-13s level %2d: %5.1f%% of original, write %,6dms, read %,6dms%s%n",
+                compression, level, 100.0 * destination.length() / source.length(), compressNanos / 1_000_000,
+                decompressNanos / 1_000_000, restoredLength == source.length() ? "" : " (restored size differs!)");
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.github.lukehackett.ocp.chapter8.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Splits the output into blocks that are compressed in parallel, each into a complete gzip member. The members
+// are written in order, and concatenated members are a valid gzip stream that GZIPInputStream reads as one.
+// The ratio is slightly worse than a single stream, as each block starts with an empty dictionary.
+public class ParallelGzipOutputStream extends OutputStream {
+    private static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final OutputStream out;
+    private final int level;
+    private final int blockSize;
+    private final ForkJoinPool pool;
+    private final int window;
+    private final Deque<ForkJoinTask<byte[]>> inFlight = new ArrayDeque<>();
+    private byte[] block;
+    private int count;
+    private boolean closed;
+
+    public ParallelGzipOutputStream(OutputStream out, int level) {
+        this(out, level, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public ParallelGzipOutputStream(OutputStream out, int level, int blockSize, ForkJoinPool pool) {
+        this.out = out;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.pool = pool;
+        this.window = 2 * pool.getParallelism() + 1;
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[count++] = (byte) b;
+        if (count == blockSize) {
+            submit();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            int chunk = Math.min(length, blockSize - count);
+            System.arraycopy(bytes, offset, block, count, chunk);
+            count += chunk;
+            offset += chunk;
+            length -= chunk;
+
+            if (count == blockSize) {
+                submit();
+            }
+        }
+    }
+
+    // Waits for every submitted block to be written. The partial block stays buffered until it fills or the
+    // stream is closed, as compressing it now would make a tiny gzip member for every flush of a chatty writer
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (count > 0) {
+                submit();
+            }
+            drain();
+            out.flush();
+        } finally {
+            for (ForkJoinTask<byte[]> task : inFlight) {
+                task.cancel(false);
+            }
+            out.close();
+        }
+    }
+
+    private void submit() throws IOException {
+        byte[] data = block;
+        int length = count;
+        inFlight.addLast(pool.submit(ForkJoinTask.adapt(() -> compress(data, length))));
+
+        block = new byte[blockSize];
+        count = 0;
+
+        // Bounds memory use, by waiting for the oldest block once enough are in flight
+        while (inFlight.size() >= window) {
+            writeNext();
+        }
+    }
+
+    private void drain() throws IOException {
+        while (!inFlight.isEmpty()) {
+            writeNext();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void writeNext() throws IOException {
+        byte[] compressed;
+        try {
+            compressed = inFlight.removeFirst().join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.write(compressed);
+    }
+
+    private byte[] compress(byte[] data, int length) {
+        ByteArrayOutputStream member = new ByteArrayOutputStream(length / 2 + 64);
+        try (OutputStream gzip = new Compression.LevelledGzipOutputStream(member, level)) {
+            gzip.write(data, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return member.toByteArray();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.lukehackett.ocp.chapter8.copy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// A small micro-benchmark that times every strategy at a range of file sizes on the target file system,
+// and picks the fastest for each. Each sample size becomes the lower bound of a threshold.
+public class CopyCalibration {
+    private static final long[] DEFAULT_SAMPLE_SIZES = { 0, 64 * 1024, 1024 * 1024, 16 * 1024 * 1024 };
+    private static final long MIN_MEASUREMENT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int MAX_REPETITIONS = 200;
+
+    private final List<CopyStrategy> strategies;
+    private long[] sampleSizes = DEFAULT_SAMPLE_SIZES;
+
+    public CopyCalibration(Collection<CopyStrategy> strategies) {
+        this.strategies = new ArrayList<>(strategies);
+    }
+
+    public void setSampleSizes(long... sampleSizes) {
+        if (sampleSizes.length == 0 || sampleSizes[0] != 0) {
+            throw new IllegalArgumentException("Sample sizes must start at zero bytes");
+        }
+        this.sampleSizes = sampleSizes.clone();
+    }
+
+    public NavigableMap<Long, CopyStrategy> run(Path workDirectory) throws IOException {
+        NavigableMap<Long, CopyStrategy> thresholds = new TreeMap<>();
+        Path source = Files.createTempFile(workDirectory, "calibration", ".src");
+        Path destination = Files.createTempFile(workDirectory, "calibration", ".dst");
+
+        try {
+            for (int i = 0; i < sampleSizes.length; i++) {
+                // Measured at the middle of each range, as an empty file would tell us nothing
+                long upper = i + 1 < sampleSizes.length ? sampleSizes[i + 1] : sampleSizes[i] * 2;
+                writeSample(source, Math.max(1, (sampleSizes[i] + upper) / 2));
+
+                CopyStrategy fastest = null;
+                double fastestNanos = Double.MAX_VALUE;
+                for (CopyStrategy strategy : strategies) {
+                    double nanos = measure(strategy, source, destination);
+                    if (nanos < fastestNanos) {
+                        fastest = strategy;
+                        fastestNanos = nanos;
+                    }
+                }
+                thresholds.put(sampleSizes[i], fastest);
+            }
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(destination);
+        }
+        return thresholds;
+    }
+
+    // Returns the average time per copy, after a warm up copy
+    private static double measure(CopyStrategy strategy, Path source, Path destination) throws IOException {
+        strategy.copy(source, destination);
+
+        int repetitions = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            strategy.copy(source, destination);
+            repetitions++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MIN_MEASUREMENT_NANOS && repetitions < MAX_REPETITIONS);
+
+        return (double) elapsed / repetitions;
+    }
+
+    private static void writeSample(Path file, long size) throws IOException {
+        byte[] block = new byte[64 * 1024];
+        new Random(size).nextBytes(block);
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += block.length) {
+                out.write(block, 0, (int) Math.min(block.length, size - written));
+            }
+        }
+    }
+
+}
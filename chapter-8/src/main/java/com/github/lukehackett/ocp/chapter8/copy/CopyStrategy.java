@@ -0,0 +1,12 @@
+package com.github.lukehackett.ocp.chapter8.copy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface CopyStrategy {
+
+    String getName();
+
+    void copy(Path source, Path destination) throws IOException;
+
+}
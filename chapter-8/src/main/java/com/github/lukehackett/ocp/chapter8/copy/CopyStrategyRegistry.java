@@ -0,0 +1,120 @@
+package com.github.lukehackett.ocp.chapter8.copy;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Chooses a copy strategy by the size of the source file: each threshold names the strategy used for files
+// of at least that many bytes, up to the next threshold. Files on network file systems always use a plain
+// buffered copy, as mapping them or transferring between them gains nothing and can fail part way through.
+public class CopyStrategyRegistry {
+    private static final Set<String> NETWORK_FILE_STORES = new HashSet<>(Arrays.asList(
+            "nfs", "nfs4", "cifs", "smbfs", "smb2", "afpfs", "webdav", "fuse.sshfs"
+    ));
+
+    private final Map<String, CopyStrategy> strategies = new LinkedHashMap<>();
+    private final NavigableMap<Long, CopyStrategy> thresholds = new TreeMap<>();
+    private CopyStrategy networkStrategy = StandardCopyStrategy.HEAP_BUFFERED;
+
+    public static CopyStrategyRegistry withDefaults() {
+        CopyStrategyRegistry registry = new CopyStrategyRegistry();
+        for (StandardCopyStrategy strategy : StandardCopyStrategy.values()) {
+            registry.register(strategy);
+        }
+
+        registry.setThreshold(0, StandardCopyStrategy.HEAP_BUFFERED);
+        registry.setThreshold(64 * 1024, StandardCopyStrategy.DIRECT_BUFFER);
+        registry.setThreshold(1024 * 1024, StandardCopyStrategy.CHANNEL_TRANSFER);
+        return registry;
+    }
+
+    public synchronized void register(CopyStrategy strategy) {
+        strategies.put(strategy.getName(), strategy);
+    }
+
+    public synchronized CopyStrategy getStrategy(String name) {
+        CopyStrategy strategy = strategies.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown copy strategy: " + name);
+        }
+        return strategy;
+    }
+
+    public synchronized Map<String, CopyStrategy> getStrategies() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(strategies));
+    }
+
+    public synchronized void setThreshold(long minimumSize, CopyStrategy strategy) {
+        if (minimumSize < 0) {
+            throw new IllegalArgumentException("minimumSize must not be negative, but was " + minimumSize);
+        }
+        register(strategy);
+        thresholds.put(minimumSize, strategy);
+    }
+
+    public synchronized void setThresholds(NavigableMap<Long, CopyStrategy> calibrated) {
+        if (!calibrated.containsKey(0L)) {
+            throw new IllegalArgumentException("Thresholds must start at zero bytes");
+        }
+        thresholds.clear();
+        calibrated.forEach(this::setThreshold);
+    }
+
+    public synchronized NavigableMap<Long, CopyStrategy> getThresholds() {
+        return Collections.unmodifiableNavigableMap(new TreeMap<>(thresholds));
+    }
+
+    public synchronized void setNetworkStrategy(CopyStrategy networkStrategy) {
+        register(networkStrategy);
+        this.networkStrategy = networkStrategy;
+    }
+
+    public CopyStrategy select(Path source, Path destination) throws IOException {
+        long size = Files.size(source);
+        boolean network = isNetwork(source) || isNetwork(destination.toAbsolutePath().getParent());
+
+        synchronized (this) {
+            if (network) {
+                return networkStrategy;
+            }
+            Map.Entry<Long, CopyStrategy> threshold = thresholds.floorEntry(size);
+            return threshold == null ? StandardCopyStrategy.HEAP_BUFFERED : threshold.getValue();
+        }
+    }
+
+    public CopyStrategy copy(Path source, Path destination) throws IOException {
+        CopyStrategy strategy = select(source, destination);
+        strategy.copy(source, destination);
+        return strategy;
+    }
+
+    // Replaces the thresholds with the fastest strategy measured at each sample size
+    public void calibrate(Path workDirectory) throws IOException {
+        setThresholds(new CopyCalibration(getStrategies().values()).run(workDirectory));
+    }
+
+    private static boolean isNetwork(Path path) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            return false;
+        }
+        FileStore store = Files.getFileStore(path);
+        return NETWORK_FILE_STORES.contains(store.type().toLowerCase());
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("CopyStrategyRegistry{");
+        thresholds.forEach((size, strategy) -> sb.append(" >=").append(size).append(": ").append(strategy.getName()).append(','));
+        return sb.append(" network: ").append(networkStrategy.getName()).append(" }").toString();
+    }
+
+}
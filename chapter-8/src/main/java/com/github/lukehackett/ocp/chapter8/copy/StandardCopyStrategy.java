@@ -0,0 +1,116 @@
+package com.github.lukehackett.ocp.chapter8.copy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public enum StandardCopyStrategy implements CopyStrategy {
+
+    // A plain byte array through the streams; cheapest to set up, so best for small files
+    HEAP_BUFFERED("heap-buffered") {
+        @Override
+        public void copy(Path source, Path destination) throws IOException {
+            try (InputStream in = Files.newInputStream(source); OutputStream out = Files.newOutputStream(destination)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        }
+    },
+
+    // Channels read straight into native memory, so the data never has to be copied onto the heap
+    DIRECT_BUFFER("direct-buffer") {
+        @Override
+        public void copy(Path source, Path destination) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ); FileChannel out = openForWrite(destination)) {
+                copyWithDirectBuffer(in, out, 0);
+            }
+        }
+    },
+
+    // transferTo lets the kernel copy between the files, falling back to a direct buffer for anything it leaves
+    CHANNEL_TRANSFER("channel-transfer") {
+        @Override
+        public void copy(Path source, Path destination) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ); FileChannel out = openForWrite(destination)) {
+                long size = in.size();
+                long position = 0;
+
+                while (position < size) {
+                    long transferred = in.transferTo(position, size - position, out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+
+                if (position < size) {
+                    copyWithDirectBuffer(in, out, position);
+                }
+            }
+        }
+    },
+
+    // Maps the source into memory a region at a time, and writes each region out from the page cache
+    MEMORY_MAPPED("memory-mapped") {
+        @Override
+        public void copy(Path source, Path destination) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ); FileChannel out = openForWrite(destination)) {
+                long size = in.size();
+
+                for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+                    MappedByteBuffer region = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position));
+                    while (region.hasRemaining()) {
+                        out.write(region);
+                    }
+                }
+            }
+        }
+    };
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int DIRECT_BUFFER_SIZE = 1024 * 1024;
+    static final long MAPPED_REGION_SIZE = 256L * 1024 * 1024;
+
+    // Direct memory is only released by the garbage collector, so each thread keeps one buffer for every copy it makes
+    private static final ThreadLocal<ByteBuffer> DIRECT_BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE));
+
+    private final String name;
+
+    StandardCopyStrategy(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    static FileChannel openForWrite(Path destination) throws IOException {
+        return FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    static void copyWithDirectBuffer(FileChannel in, FileChannel out, long position) throws IOException {
+        ByteBuffer buffer = DIRECT_BUFFERS.get();
+        buffer.clear();
+        in.position(position);
+        out.position(position);
+
+        while (in.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+}
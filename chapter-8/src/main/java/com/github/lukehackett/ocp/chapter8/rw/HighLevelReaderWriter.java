@@ -1,34 +1,36 @@
 package com.github.lukehackett.ocp.chapter8.rw;
 
 import com.github.lukehackett.ocp.chapter8.IOCopyBaseClass;
+import com.github.lukehackett.ocp.chapter8.text.LiteralReplacer;
 
 import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class HighLevelReaderWriter extends IOCopyBaseClass {
+    public static final LiteralReplacer NAME_REPLACEMENTS = new LiteralReplacer(nameReplacements());
 
     public static void main(String[] args) {
         HighLevelReaderWriter hlrw = new HighLevelReaderWriter();
         hlrw.copy("data.txt", "data.hlrw.txt");
     }
 
+    private static Map<String, String> nameReplacements() {
+        Map<String, String> replacements = new LinkedHashMap<>();
+        replacements.put("Animal Names", "Animal Names (Proposed)");
+        replacements.put("Penguin", "Panther");
+        replacements.put("Cat", "Camel");
+        return replacements;
+    }
+
     @Override
     public void performCopy(File source, File destination) {
         try (
-                BufferedReader bufferedReader = new BufferedReader(new FileReader(source));
-                BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(destination))
+                BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(openInputStream(source)));
+                BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(openOutputStream(destination)))
         ) {
-            String line;
-
-            while((line = bufferedReader.readLine()) != null) {
-                // Perform name replacements
-                line = line
-                        .replaceAll("Animal Names", "Animal Names (Proposed)")
-                        .replaceAll("Penguin", "Panther")
-                        .replaceAll("Cat", "Camel");
-
-                bufferedWriter.write(line);
-                bufferedWriter.newLine();
-            }
+            // Perform name replacements, in a single pass over the whole file rather than line by line
+            NAME_REPLACEMENTS.replace(bufferedReader, bufferedWriter);
 
         } catch (Exception e) {
             e.printStackTrace();
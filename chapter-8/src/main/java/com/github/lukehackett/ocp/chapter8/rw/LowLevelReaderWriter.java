@@ -3,8 +3,10 @@ package com.github.lukehackett.ocp.chapter8.rw;
 import com.github.lukehackett.ocp.chapter8.IOCopyBaseClass;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 
 public class LowLevelReaderWriter extends IOCopyBaseClass {
 
@@ -16,8 +18,8 @@ public class LowLevelReaderWriter extends IOCopyBaseClass {
     @Override
     public void performCopy(File source, File destination) {
         try (
-                FileReader fileReader = new FileReader(source);
-                FileWriter fileWriter = new FileWriter(destination)
+                Reader fileReader = new InputStreamReader(openInputStream(source));
+                Writer fileWriter = new OutputStreamWriter(openOutputStream(destination))
         ) {
             int b;
 
@@ -0,0 +1,46 @@
+package com.github.lukehackett.ocp.chapter8.rw;
+
+import com.github.lukehackett.ocp.chapter8.CopyTimings;
+import com.github.lukehackett.ocp.chapter8.IOCopyBaseClass;
+import com.github.lukehackett.ocp.chapter8.text.ParallelLineTransformer;
+
+import java.io.File;
+import java.io.IOException;
+
+public class ParallelReaderWriter extends IOCopyBaseClass {
+    private final ParallelLineTransformer transformer = new ParallelLineTransformer(HighLevelReaderWriter.NAME_REPLACEMENTS::replace);
+
+    // With a size in MB, times this against HighLevelReaderWriter on a generated file of that size
+    public static void main(String[] args) throws IOException {
+        ParallelReaderWriter prw = new ParallelReaderWriter();
+        if (args.length == 0) {
+            prw.copy("data.txt", "data.prw.txt");
+            return;
+        }
+
+        File source = new File(prw.resourceDirectory, "parallel.txt");
+        CopyTimings.createTextFile(source, Long.parseLong(args[0]) * 1024 * 1024);
+        try {
+            CopyTimings.time("HighLevelReaderWriter", new HighLevelReaderWriter(), source);
+            CopyTimings.time("ParallelReaderWriter", prw, source);
+        } finally {
+            source.delete();
+        }
+    }
+
+    // Reads and writes through ParallelLineTransformer, never through openInputStream/openOutputStream
+    @Override
+    protected boolean supportsCompression() {
+        return false;
+    }
+
+    @Override
+    public void performCopy(File source, File destination) {
+        try {
+            transformer.transform(source.toPath(), destination.toPath());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+}
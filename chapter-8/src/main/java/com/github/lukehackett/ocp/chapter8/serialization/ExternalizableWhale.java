@@ -0,0 +1,41 @@
+package com.github.lukehackett.ocp.chapter8.serialization;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+// An opt-in fast path for Whale. Writing the fields by hand skips the reflection of default serialization, and
+// also carries Mammal's state, which default serialization drops because Mammal is not Serializable.
+class ExternalizableWhale extends Whale implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    // Externalizable classes are created with their public no-argument constructor before readExternal is called
+    public ExternalizableWhale() {}
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        writeString(out, getName());
+        out.writeInt(getAge());
+        writeString(out, getFood());
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        setName(readString(in));
+        setAge(in.readInt());
+        setFood(readString(in));
+    }
+
+    private static void writeString(ObjectOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.github.lukehackett.ocp.chapter8.serialization;
+
+class Mammal {
+    protected transient String name;
+    protected int age;
+
+    public Mammal() {
+        this.name = "Roger";
+    }
+
+    public void setName(String name) { this.name = name; }
+    public String getName() { return this.name; }
+
+    public void setAge(int age) { this.age = age; }
+    public int getAge() { return this.age; }
+}
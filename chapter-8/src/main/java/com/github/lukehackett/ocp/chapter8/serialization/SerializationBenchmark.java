@@ -0,0 +1,75 @@
+package com.github.lukehackett.ocp.chapter8.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
+// Compares default serialization of Whale with the Externalizable fast path, in bytes and nanoseconds per object
+public class SerializationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        for (int round = 1; round <= 5; round++) {
+            System.out.println("Round " + round);
+            run("Serializable", count, Whale::new);
+            run("Externalizable", count, ExternalizableWhale::new);
+        }
+
+        // Only the Externalizable whale keeps its Mammal state
+        System.out.println("Serializable:   " + describe(roundTrip(whale(new Whale(), 1))));
+        System.out.println("Externalizable: " + describe(roundTrip(whale(new ExternalizableWhale(), 1))));
+    }
+
+    private static void run(String label, int count, Supplier<Whale> factory) throws Exception {
+        Whale[] whales = new Whale[count];
+        for (int i = 0; i < count; i++) {
+            whales[i] = whale(factory.get(), i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (Whale whale : whales) {
+                out.writeObject(whale);
+            }
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int i = 0; i < count; i++) {
+                in.readObject();
+            }
+        }
+        long readNanos = System.nanoTime() - start;
+
+        System.out.printf("  %-15s %6.1f bytes/object, write %6.0f ns/object, read %6.0f ns/object%n",
+                label, (double) bytes.size() / count, (double) writeNanos / count, (double) readNanos / count);
+    }
+
+    private static Whale whale(Whale whale, int i) {
+        whale.setName("Whale " + i);
+        whale.setAge(i % 90);
+        whale.setFood((i % 2 == 0 ? "Plankton " : "Krill ") + i);
+        return whale;
+    }
+
+    private static Whale roundTrip(Whale whale) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(whale);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (Whale) in.readObject();
+        }
+    }
+
+    private static String describe(Whale whale) {
+        return String.format("{ name: %s, age: %s, food: %s }", whale.getName(), whale.getAge(), whale.getFood());
+    }
+
+}
@@ -4,34 +4,6 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
 
-class Mammal {
-    protected transient String name;
-    protected int age;
-
-    public Mammal() {
-        this.name = "Roger";
-    }
-
-    public void setName(String name) { this.name = name; }
-    public String getName() { return this.name; }
-
-    public void setAge(int age) { this.age = age; }
-    public int getAge() { return this.age; }
-}
-
-class Whale extends Mammal implements Serializable {
-    private String food;
-
-    { this.name = "Lisa"; }
-
-    public Whale() {
-        this.name = "Moby";
-    }
-
-    public void setFood(String food) { this.food = food; }
-    public String getFood() { return this.food; }
-}
-
 public class SerializationExample {
 
     public static void main(String[] args) throws Exception {
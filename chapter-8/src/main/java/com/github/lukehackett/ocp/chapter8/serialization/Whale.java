@@ -0,0 +1,16 @@
+package com.github.lukehackett.ocp.chapter8.serialization;
+
+import java.io.Serializable;
+
+class Whale extends Mammal implements Serializable {
+    private String food;
+
+    { this.name = "Lisa"; }
+
+    public Whale() {
+        this.name = "Moby";
+    }
+
+    public void setFood(String food) { this.food = food; }
+    public String getFood() { return this.food; }
+}
@@ -0,0 +1,60 @@
+package com.github.lukehackett.ocp.chapter8.streams;
+
+import com.github.lukehackett.ocp.chapter8.IOCopyBaseClass;
+import com.github.lukehackett.ocp.chapter8.copy.CopyStrategy;
+import com.github.lukehackett.ocp.chapter8.copy.CopyStrategyRegistry;
+
+import java.io.File;
+
+public class AdaptiveCopyStream extends IOCopyBaseClass {
+    private final CopyStrategyRegistry registry;
+    private volatile CopyStrategy lastStrategy;
+
+    public AdaptiveCopyStream() {
+        this(CopyStrategyRegistry.withDefaults());
+    }
+
+    public AdaptiveCopyStream(CopyStrategyRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static void main(String[] args) {
+        AdaptiveCopyStream acs = new AdaptiveCopyStream();
+
+        // Calibrate on the same file system the copies will be made on
+        try {
+            acs.registry.calibrate(acs.resourceDirectory.toPath());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        System.out.println(acs.registry);
+
+        acs.copy("data.txt", "data.acs.txt");
+        System.out.println("Copied data.txt using the " + acs.getLastStrategy().getName() + " strategy");
+    }
+
+    public CopyStrategyRegistry getRegistry() {
+        return registry;
+    }
+
+    // Copies through channels or the registry, never through openInputStream/openOutputStream
+    @Override
+    protected boolean supportsCompression() {
+        return false;
+    }
+
+    // The strategy chosen for the most recent copy, or null if nothing has been copied yet
+    public CopyStrategy getLastStrategy() {
+        return lastStrategy;
+    }
+
+    @Override
+    public void performCopy(File source, File destination) {
+        try {
+            lastStrategy = registry.copy(source.toPath(), destination.toPath());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+}
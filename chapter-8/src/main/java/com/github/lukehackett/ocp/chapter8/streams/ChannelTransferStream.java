@@ -0,0 +1,30 @@
+package com.github.lukehackett.ocp.chapter8.streams;
+
+import com.github.lukehackett.ocp.chapter8.IOCopyBaseClass;
+import com.github.lukehackett.ocp.chapter8.copy.StandardCopyStrategy;
+
+import java.io.File;
+
+public class ChannelTransferStream extends IOCopyBaseClass {
+
+    public static void main(String[] args) {
+        ChannelTransferStream cts = new ChannelTransferStream();
+        cts.copy("data.txt", "data.cts.txt");
+    }
+
+    // Copies through channels or the registry, never through openInputStream/openOutputStream
+    @Override
+    protected boolean supportsCompression() {
+        return false;
+    }
+
+    @Override
+    public void performCopy(File source, File destination) {
+        try {
+            StandardCopyStrategy.CHANNEL_TRANSFER.copy(source.toPath(), destination.toPath());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+}
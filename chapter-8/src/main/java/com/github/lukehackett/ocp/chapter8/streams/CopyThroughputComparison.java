@@ -0,0 +1,39 @@
+package com.github.lukehackett.ocp.chapter8.streams;
+
+import com.github.lukehackett.ocp.chapter8.CopyTimings;
+import com.github.lukehackett.ocp.chapter8.IOBaseClass;
+import com.github.lukehackett.ocp.chapter8.IOCopyBaseClass;
+
+import java.io.File;
+import java.io.IOException;
+
+// Copies the same generated file with each IOCopyBaseClass implementation, and reports the throughput of each
+public class CopyThroughputComparison extends IOBaseClass {
+    // Copying one byte per call is too slow to be worth timing against anything much larger
+    private static final long LOW_LEVEL_LIMIT = 4L * 1024 * 1024;
+
+    public static void main(String[] args) throws IOException {
+        long megabytes = args.length > 0 ? Long.parseLong(args[0]) : 16;
+
+        CopyThroughputComparison comparison = new CopyThroughputComparison();
+        File source = new File(comparison.resourceDirectory, "throughput.bin");
+        CopyTimings.createBinaryFile(source, megabytes * 1024 * 1024);
+        try {
+            if (source.length() <= LOW_LEVEL_LIMIT) {
+                comparison.time("LowLevelStream", new LowLevelStream(), source);
+            }
+            comparison.time("HighLevelStream", new HighLevelStream(), source);
+            comparison.time("ChannelTransferStream", new ChannelTransferStream(), source);
+        } finally {
+            source.delete();
+        }
+    }
+
+    private void time(String label, IOCopyBaseClass copier, File source) {
+        long copied = CopyTimings.time(label, copier, source);
+        if (copied != source.length()) {
+            System.out.println(label + " copied " + copied + " of " + source.length() + " bytes");
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.github.lukehackett.ocp.chapter8.streams;
 
 import com.github.lukehackett.ocp.chapter8.IOBaseClass;
+import com.github.lukehackett.ocp.chapter8.codec.AnimalCodec;
+import com.github.lukehackett.ocp.chapter8.codec.IndexedRecordFile;
+import com.github.lukehackett.ocp.chapter8.codec.IndexedRecordWriter;
 
 import java.io.*;
 import java.util.ArrayList;
@@ -23,6 +26,11 @@ public class HighLevelObjectStream extends IOBaseClass {
             this.enclosureNumber = enclosureNumber;
         }
 
+        public String getName() { return name; }
+        public int getAge() { return age; }
+        public String getType() { return type; }
+        public int getEnclosureNumber() { return enclosureNumber; }
+
         @Override
         public String toString() {
             return String.format("{ name: %s, age: %s, type: %s, enclosureNumber: %s }", name, age, type, enclosureNumber);
@@ -32,11 +40,10 @@ public class HighLevelObjectStream extends IOBaseClass {
     public void serialize(String destinationPath, Animal... animals) {
         File destination = new File(resourceDirectory, destinationPath);
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(destination)))) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(openOutputStream(destination)))) {
 
             for (Animal animal : animals) {
                 oos.writeObject(animal);
-                oos.flush();
             }
 
         } catch (Exception e) {
@@ -48,7 +55,7 @@ public class HighLevelObjectStream extends IOBaseClass {
         File source = new File(resourceDirectory, sourcePath);
         List<Animal> animals = new ArrayList<>();
 
-        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(openInputStream(source)))) {
 
             while (true) {
                 try {
@@ -71,6 +78,38 @@ public class HighLevelObjectStream extends IOBaseClass {
         return animals;
     }
 
+    // Unlike serialize, the record count is in the file's header, so reading back needs no EOFException
+    public void serializeIndexed(String destinationPath, Animal... animals) {
+        File destination = new File(resourceDirectory, destinationPath);
+
+        try (IndexedRecordWriter<Animal> writer = new IndexedRecordWriter<>(destination.toPath(), AnimalCodec.RECORDS)) {
+
+            for (Animal animal : animals) {
+                writer.write(animal);
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    public List<Animal> deserializeIndexed(String sourcePath) {
+        File source = new File(resourceDirectory, sourcePath);
+        List<Animal> animals = new ArrayList<>();
+
+        try (IndexedRecordFile<Animal> file = new IndexedRecordFile<>(source.toPath(), AnimalCodec.RECORDS)) {
+
+            for (Animal animal : file) {
+                animals.add(animal);
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return animals;
+    }
+
     public static void main(String[] args) {
         HighLevelObjectStream hlos = new HighLevelObjectStream();
         hlos.serialize("animals.data",
@@ -81,6 +120,9 @@ public class HighLevelObjectStream extends IOBaseClass {
         List<Animal> animals = hlos.deserialize("animals.data");
 
         System.out.println(animals);
+
+        hlos.serializeIndexed("animals.idx", animals.toArray(new Animal[0]));
+        System.out.println(hlos.deserializeIndexed("animals.idx"));
     }
 
 }
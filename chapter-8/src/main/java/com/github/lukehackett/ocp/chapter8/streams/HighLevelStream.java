@@ -14,8 +14,8 @@ public class HighLevelStream extends IOCopyBaseClass {
     @Override
     public void performCopy(File source, File destination) {
         try (
-                BufferedInputStream bis = new BufferedInputStream(new FileInputStream(source));
-                BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(destination))
+                BufferedInputStream bis = new BufferedInputStream(openInputStream(source));
+                BufferedOutputStream bos = new BufferedOutputStream(openOutputStream(destination))
         ) {
             int b;
 
@@ -14,8 +14,8 @@ public class LowLevelStream extends IOCopyBaseClass {
     @Override
     public void performCopy(File source, File destination) {
         try (
-                InputStream is = new FileInputStream(source);
-                OutputStream os = new FileOutputStream(destination)
+                InputStream is = openInputStream(source);
+                OutputStream os = openOutputStream(destination)
         ) {
             int b;
 
@@ -0,0 +1,317 @@
+package com.github.lukehackett.ocp.chapter8.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+// Replaces many literal strings in a single pass, by compiling them into an Aho-Corasick automaton.
+// Where matches overlap, the one that starts first wins, and of those starting at the same place the longest.
+// Replacements are not themselves rescanned. The compiled automaton is immutable, so may be shared between threads.
+public final class LiteralReplacer {
+    private static final int ROOT = 0;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final char[][] replacements;
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+
+    // Children of node n are childChars/childNodes[childStart[n] .. childStart[n + 1]), sorted by char
+    private final int[] childStart;
+    private final char[] childChars;
+    private final int[] childNodes;
+    private final int[] fail;
+    private final int[] depth;
+    // The longest pattern that ends at each node, or -1
+    private final int[] longest;
+
+    public LiteralReplacer(Map<String, String> replacements) {
+        int patterns = replacements.size();
+        this.replacements = new char[patterns][];
+        this.patternLengths = new int[patterns];
+
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        children.add(new TreeMap<>());
+        terminal.add(-1);
+        depths.add(0);
+
+        int pattern = 0;
+        int maxLength = 0;
+        for (Map.Entry<String, String> entry : replacements.entrySet()) {
+            String target = entry.getKey();
+            if (target == null || target.isEmpty()) {
+                throw new IllegalArgumentException("Cannot replace an empty string");
+            }
+
+            int node = ROOT;
+            for (int i = 0; i < target.length(); i++) {
+                Integer next = children.get(node).get(target.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    terminal.add(-1);
+                    depths.add(i + 1);
+                    children.get(node).put(target.charAt(i), next);
+                }
+                node = next;
+            }
+
+            terminal.set(node, pattern);
+            this.replacements[pattern] = entry.getValue().toCharArray();
+            this.patternLengths[pattern] = target.length();
+            maxLength = Math.max(maxLength, target.length());
+            pattern++;
+        }
+        this.maxPatternLength = maxLength;
+
+        int nodes = children.size();
+        this.childStart = new int[nodes + 1];
+        this.depth = new int[nodes];
+        int edges = 0;
+        for (int n = 0; n < nodes; n++) {
+            childStart[n] = edges;
+            edges += children.get(n).size();
+            depth[n] = depths.get(n);
+        }
+        childStart[nodes] = edges;
+
+        this.childChars = new char[edges];
+        this.childNodes = new int[edges];
+        for (int n = 0; n < nodes; n++) {
+            int edge = childStart[n];
+            for (Map.Entry<Character, Integer> child : children.get(n).entrySet()) {
+                childChars[edge] = child.getKey();
+                childNodes[edge++] = child.getValue();
+            }
+        }
+
+        // Failure links are built breadth first, so every shallower node is complete before it is needed
+        this.fail = new int[nodes];
+        this.longest = new int[nodes];
+        longest[ROOT] = -1;
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int edge = childStart[ROOT]; edge < childStart[ROOT + 1]; edge++) {
+            int child = childNodes[edge];
+            fail[child] = ROOT;
+            longest[child] = terminal.get(child);
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (int edge = childStart[node]; edge < childStart[node + 1]; edge++) {
+                int child = childNodes[edge];
+                fail[child] = step(fail[node], childChars[edge]);
+                longest[child] = terminal.get(child) >= 0 ? terminal.get(child) : longest[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    public int getMaxPatternLength() {
+        return maxPatternLength;
+    }
+
+    public void replace(Reader in, Writer out) throws IOException {
+        Session session = new Session(out);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            session.write(buffer, 0, read);
+        }
+        session.finish();
+    }
+
+    public String replace(CharSequence text) {
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        try {
+            Session session = new Session(new Writer() {
+                @Override
+                public void write(char[] chars, int offset, int length) {
+                    sb.append(chars, offset, length);
+                }
+
+                @Override
+                public void flush() {}
+
+                @Override
+                public void close() {}
+            });
+
+            // The session scans the copied chars in place, rather than copying them again into its own buffer
+            session.adopt(text.toString().toCharArray());
+            session.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    // A Writer that applies the replacements to everything written through it; close() flushes any held back text
+    public Writer wrap(Writer out) {
+        Session session = new Session(out);
+        return new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) throws IOException {
+                session.write(chars, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    session.finish();
+                } finally {
+                    out.close();
+                }
+            }
+        };
+    }
+
+    private int step(int node, char c) {
+        while (true) {
+            int from = childStart[node];
+            int to = childStart[node + 1] - 1;
+            while (from <= to) {
+                int mid = (from + to) >>> 1;
+                char key = childChars[mid];
+                if (key < c) {
+                    from = mid + 1;
+                } else if (key > c) {
+                    to = mid - 1;
+                } else {
+                    return childNodes[mid];
+                }
+            }
+            if (node == ROOT) {
+                return ROOT;
+            }
+            node = fail[node];
+        }
+    }
+
+    // The streaming state for one piece of text. Text is held back only while it could still be part of a match,
+    // which is never more than the longest pattern, plus whatever arrived in the same write.
+    private final class Session {
+        private final Writer out;
+        private char[] buffer = new char[BUFFER_SIZE];
+        private int head;
+        private int scanned;
+        private int length;
+        private int state = ROOT;
+        private int matchStart = -1;
+        private int matchEnd;
+        private int matchPattern;
+        private boolean finished;
+
+        Session(Writer out) {
+            this.out = out;
+        }
+
+        void write(char[] chars, int offset, int count) throws IOException {
+            if (finished) {
+                throw new IOException("Replacement has already finished");
+            }
+            ensureCapacity(count);
+            System.arraycopy(chars, offset, buffer, length, count);
+            length += count;
+            scan();
+        }
+
+        void adopt(char[] chars) throws IOException {
+            buffer = chars;
+            length = chars.length;
+            scan();
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            // No more text can extend a pending match, so each remaining one is final
+            while (matchStart >= 0) {
+                emitMatch();
+                scan();
+            }
+            out.write(buffer, head, length - head);
+            head = length;
+        }
+
+        private void scan() throws IOException {
+            while (scanned < length) {
+                state = step(state, buffer[scanned++]);
+
+                int pattern = longest[state];
+                if (pattern >= 0) {
+                    int start = scanned - patternLengths[pattern];
+                    if (matchStart < 0 || start < matchStart || (start == matchStart && scanned > matchEnd)) {
+                        matchStart = start;
+                        matchEnd = scanned;
+                        matchPattern = pattern;
+                    }
+                }
+
+                // Once the automaton is tracking nothing that began at or before the match, it cannot be bettered
+                if (matchStart >= 0 && depth[state] < scanned - matchStart) {
+                    emitMatch();
+                }
+            }
+
+            // Anything before the earliest partial match can be written now
+            if (matchStart < 0) {
+                int safe = scanned - depth[state];
+                if (safe > head) {
+                    out.write(buffer, head, safe - head);
+                    head = safe;
+                }
+            }
+        }
+
+        // Writes the text before the match and its replacement, then rescans whatever followed it from the root
+        private void emitMatch() throws IOException {
+            out.write(buffer, head, matchStart - head);
+            out.write(replacements[matchPattern]);
+            head = matchEnd;
+            scanned = matchEnd;
+            state = ROOT;
+            matchStart = -1;
+        }
+
+        private void ensureCapacity(int count) {
+            if (length + count <= buffer.length) {
+                return;
+            }
+
+            int pending = length - head;
+            if (pending + count > buffer.length) {
+                buffer = Arrays.copyOfRange(buffer, head, Math.max(buffer.length * 2, pending + count));
+            } else {
+                System.arraycopy(buffer, head, buffer, 0, pending);
+            }
+            scanned -= head;
+            if (matchStart >= 0) {
+                matchStart -= head;
+                matchEnd -= head;
+            }
+            length = pending;
+            head = 0;
+        }
+    }
+
+}
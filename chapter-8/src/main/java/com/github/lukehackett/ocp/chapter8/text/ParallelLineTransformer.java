@@ -0,0 +1,169 @@
+package com.github.lukehackett.ocp.chapter8.text;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.UnaryOperator;
+
+// Rewrites a text file by splitting it into chunks that end on a newline, transforming the chunks in parallel,
+// and writing the results back in their original order. At most `window` chunks are in flight at once, which
+// bounds memory use regardless of the size of the file.
+public class ParallelLineTransformer {
+    private static final byte NEWLINE = '\n';
+
+    private final UnaryOperator<String> transform;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private Charset charset = StandardCharsets.UTF_8;
+    private int chunkSize = 1024 * 1024;
+    private int window = 2 * ForkJoinPool.getCommonPoolParallelism() + 1;
+
+    // The transform is given whole lines, including their line terminators, so must not rely on seeing the whole file
+    public ParallelLineTransformer(UnaryOperator<String> transform) {
+        this.transform = transform;
+    }
+
+    public static ParallelLineTransformer perLine(UnaryOperator<String> lineTransform) {
+        return new ParallelLineTransformer(chunk -> {
+            StringBuilder sb = new StringBuilder(chunk.length());
+            int start = 0;
+            while (start < chunk.length()) {
+                int end = chunk.indexOf('\n', start);
+                if (end < 0) {
+                    end = chunk.length();
+                }
+                int content = end > start && chunk.charAt(end - 1) == '\r' ? end - 1 : end;
+                sb.append(lineTransform.apply(chunk.substring(start, content))).append(chunk, content, Math.min(end + 1, chunk.length()));
+                start = end + 1;
+            }
+            return sb.toString();
+        });
+    }
+
+    public ForkJoinPool getPool() { return pool; }
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        this.window = 2 * pool.getParallelism() + 1;
+    }
+
+    public Charset getCharset() { return charset; }
+    public void setCharset(Charset charset) {
+        // Chunks are split on the newline byte, so it must only ever appear as a newline
+        if (!Arrays.equals("\n".getBytes(charset), new byte[] { NEWLINE })) {
+            throw new IllegalArgumentException("Charset must encode newline as a single byte: " + charset);
+        }
+        this.charset = charset;
+    }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, but was " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getWindow() { return window; }
+    public void setWindow(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1, but was " + window);
+        }
+        this.window = window;
+    }
+
+    // Returns the number of bytes written to the destination
+    public long transform(Path source, Path destination) throws IOException {
+        try (
+                FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+        ) {
+            long size = in.size();
+            long position = 0;
+            long written = 0;
+            Deque<ForkJoinTask<ByteBuffer>> inFlight = new ArrayDeque<>(window);
+
+            try {
+                while (position < size || !inFlight.isEmpty()) {
+                    while (position < size && inFlight.size() < window) {
+                        long end = chunkEnd(in, position, size);
+                        inFlight.addLast(pool.submit(chunk(in, position, (int) (end - position))));
+                        position = end;
+                    }
+
+                    // Chunks are written strictly in order, so a slow chunk holds back those after it
+                    ByteBuffer result = join(inFlight.removeFirst());
+                    while (result.hasRemaining()) {
+                        written += out.write(result);
+                    }
+                }
+            } finally {
+                for (ForkJoinTask<ByteBuffer> task : inFlight) {
+                    task.cancel(false);
+                }
+            }
+            return written;
+        }
+    }
+
+    private ForkJoinTask<ByteBuffer> chunk(FileChannel in, long position, int length) {
+        return ForkJoinTask.adapt(() -> {
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            try {
+                // Positional reads do not move the channel's position, so chunks can be read concurrently
+                while (bytes.hasRemaining()) {
+                    if (in.read(bytes, position + bytes.position()) < 0) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytes.flip();
+
+            String text = charset.decode(bytes).toString();
+            return charset.encode(transform.apply(text));
+        });
+    }
+
+    // Finds the end of the chunk starting at position: just past the first newline at or after chunkSize bytes
+    private long chunkEnd(FileChannel in, long position, long size) throws IOException {
+        long end = position + chunkSize;
+        if (end >= size) {
+            return size;
+        }
+
+        ByteBuffer probe = ByteBuffer.allocate(8 * 1024);
+        while (end < size) {
+            probe.clear();
+            int read = in.read(probe, end - 1);
+            if (read <= 0) {
+                return size;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == NEWLINE) {
+                    return end + i;
+                }
+            }
+            end += read;
+        }
+        return size;
+    }
+
+    private static ByteBuffer join(ForkJoinTask<ByteBuffer> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+}